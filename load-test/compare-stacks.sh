@@ -0,0 +1,36 @@
+#!/usr/bin/env bash
+# Compara la API Spring MVC + JPA (jar por defecto) con la variante reactiva WebFlux + R2DBC
+# ejecutando la misma prueba de carga de k6, limitada a los endpoints comunes (MIX=common).
+#
+# Requisitos: k6, una base de datos PostgreSQL accesible para ambas variantes
+# (DB_URL y R2DBC_URL, DB_USERNAME, DB_PASSWORD) y los dos jars construidos con:
+#   ./mvnw package -DskipTests && ./mvnw -Preactive package -DskipTests
+#
+# Uso: load-test/compare-stacks.sh [MAX_RPS]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+MAX_RPS="${1:-2000}"
+PORT="${PORT:-8080}"
+
+run() {
+    local label="$1" jar="$2"
+    echo ">> Iniciando la aplicación (${label})"
+    PORT="${PORT}" java -jar "${jar}" --crud.rate-limit.enabled=false > "load-test/app-${label}.log" 2>&1 &
+    local pid=$!
+    trap 'kill ${pid} 2>/dev/null || true' EXIT
+
+    until curl -sf "http://localhost:${PORT}/actuator/health" > /dev/null; do
+        sleep 1
+    done
+
+    k6 run --quiet -e BASE_URL="http://localhost:${PORT}" -e MAX_RPS="${MAX_RPS}" -e LABEL="${label}" \
+        -e MIX=common load-test/person-endpoints.js
+
+    kill "${pid}"
+    wait "${pid}" 2>/dev/null || true
+    trap - EXIT
+}
+
+run mvc-jpa target/demo-0.0.1-SNAPSHOT.jar
+run webflux-r2dbc target/demo-0.0.1-SNAPSHOT-reactive.jar
@@ -0,0 +1,36 @@
+#!/usr/bin/env bash
+# Compara el modelo de hilos de plataforma (por defecto) con el perfil "virtual-threads"
+# ejecutando la misma prueba de carga de k6 contra cada uno.
+#
+# Requisitos: k6, una base de datos PostgreSQL accesible (DB_URL, DB_USERNAME, DB_PASSWORD)
+# y el jar construido con ./mvnw package -DskipTests.
+#
+# Uso: load-test/compare-threading.sh [MAX_RPS]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+MAX_RPS="${1:-2000}"
+JAR="target/demo-0.0.1-SNAPSHOT.jar"
+PORT="${PORT:-8080}"
+
+run() {
+    local label="$1" profiles="$2"
+    echo ">> Iniciando la aplicación (${label})"
+    SPRING_PROFILES_ACTIVE="${profiles}" PORT="${PORT}" java -jar "${JAR}" --crud.rate-limit.enabled=false > "load-test/app-${label}.log" 2>&1 &
+    local pid=$!
+    trap 'kill ${pid} 2>/dev/null || true' EXIT
+
+    until curl -sf "http://localhost:${PORT}/actuator/health" > /dev/null; do
+        sleep 1
+    done
+
+    k6 run --quiet -e BASE_URL="http://localhost:${PORT}" -e MAX_RPS="${MAX_RPS}" -e LABEL="${label}" \
+        load-test/person-endpoints.js
+
+    kill "${pid}"
+    wait "${pid}" 2>/dev/null || true
+    trap - EXIT
+}
+
+run platform-threads ""
+run virtual-threads "virtual-threads"
@@ -0,0 +1,103 @@
+#!/usr/bin/env bash
+# Mide el arranque de una instancia nueva en dos modos:
+#   baseline    jar ejecutable con el perfil prod
+#   fast-start  jar extraído con código AOT, archivo CDS y perfiles prod,fast-start (como la imagen de Docker)
+#
+# Para cada modo reporta:
+#   ready_ms               desde el lanzamiento hasta que /actuator/health/readiness responde UP
+#   first_request_ms       desde el lanzamiento hasta completar la primera solicitud GET /api/persons/{id}
+#   first_request_latency_ms  latencia de esa primera solicitud
+#   steady_p99_ms          p99 de los últimos 10 segundos de carga constante
+#   time_to_steady_s       segundos de carga hasta que el p99 por segundo se mantiene dentro del 20% del estable
+#
+# Requisitos: k6, python3, una base de datos PostgreSQL con el esquema aplicado (DB_URL, DB_USERNAME,
+# DB_PASSWORD) y algunas personas (sus IDs en IDS, que también se precargan en la caché), y el jar
+# construido con ./mvnw -Pfast-start package -DskipTests.
+#
+# Uso: IDS=1,2,3 load-test/measure-startup.sh [RATE] [DURATION]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RATE="${1:-200}"
+DURATION="${2:-60s}"
+IDS="${IDS:-1}"
+PORT="${PORT:-8080}"
+JAR="target/demo-0.0.1-SNAPSHOT.jar"
+EXTRACTED="target/fast-start"
+
+# Prepara el jar extraído y el archivo CDS una sola vez, igual que el Dockerfile
+if [ ! -f "${EXTRACTED}/application.jsa" ]; then
+    rm -rf "${EXTRACTED}"
+    java -Djarmode=tools -jar "${JAR}" extract --destination "${EXTRACTED}"
+    (cd "${EXTRACTED}" && SPRING_PROFILES_ACTIVE=prod,fast-start java -XX:ArchiveClassesAtExit=application.jsa \
+        -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh -jar demo-0.0.1-SNAPSHOT.jar > /dev/null)
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+measure() {
+    local label="$1"
+    shift
+    echo ">> Iniciando la aplicación (${label})"
+    local start
+    start=$(now_ms)
+    "$@" > "load-test/app-startup-${label}.log" 2>&1 &
+    local pid=$!
+    trap 'kill ${pid} 2>/dev/null || true' EXIT
+
+    until curl -sf "http://localhost:${PORT}/actuator/health/readiness" > /dev/null; do
+        sleep 0.05
+    done
+    local ready=$(( $(now_ms) - start ))
+
+    local first_id="${IDS%%,*}"
+    local latency
+    latency=$(curl -s -o /dev/null -w '%{time_total}' "http://localhost:${PORT}/api/persons/${first_id}")
+    local first=$(( $(now_ms) - start ))
+
+    k6 run --quiet -e BASE_URL="http://localhost:${PORT}" -e RATE="${RATE}" -e DURATION="${DURATION}" -e IDS="${IDS}" \
+        --out csv="load-test/startup-${label}.csv" load-test/steady-state.js > /dev/null
+
+    kill "${pid}"
+    wait "${pid}" 2>/dev/null || true
+    trap - EXIT
+
+    python3 - "load-test/startup-${label}.csv" "${label}" "${ready}" "${first}" "${latency}" <<'PY'
+import csv, json, math, sys
+path, label, ready, first, latency = sys.argv[1:]
+by_second = {}
+for row in csv.DictReader(open(path)):
+    if row['metric_name'] == 'http_req_duration':
+        by_second.setdefault(int(row['timestamp']), []).append(float(row['metric_value']))
+seconds = sorted(by_second)
+def p99(values):
+    values = sorted(values)
+    return values[min(len(values) - 1, math.ceil(len(values) * 0.99) - 1)]
+steady = p99([v for s in seconds[-10:] for v in by_second[s]])
+time_to_steady = len(seconds)
+for i in range(len(seconds) - 1, -1, -1):
+    if p99(by_second[seconds[i]]) > steady * 1.2:
+        break
+    time_to_steady = i
+summary = {
+    'label': label,
+    'ready_ms': int(ready),
+    'first_request_ms': int(first),
+    'first_request_latency_ms': round(float(latency) * 1000, 1),
+    'steady_p99_ms': round(steady, 1),
+    'time_to_steady_s': time_to_steady,
+}
+print(json.dumps(summary))
+json.dump(summary, open(f'load-test/startup-{label}.json', 'w'))
+PY
+}
+
+# La variante baseline no tiene el perfil fast-start: se habilitan las probes para poder medir readiness
+measure baseline env SPRING_PROFILES_ACTIVE=prod MANAGEMENT_ENDPOINT_HEALTH_PROBES_ENABLED=true PORT="${PORT}" \
+    java -jar "${JAR}" --crud.rate-limit.enabled=false
+# El archivo CDS exige el mismo classpath que en el entrenamiento, por eso se ejecuta desde el directorio extraído
+measure fast-start env WARMUP_PERSON_IDS="${IDS}" PORT="${PORT}" SPRING_PROFILES_ACTIVE=prod,fast-start \
+    bash -c "cd ${EXTRACTED} && exec java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+    -jar demo-0.0.1-SNAPSHOT.jar --crud.rate-limit.enabled=false"
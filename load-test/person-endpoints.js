@@ -0,0 +1,88 @@
+// Prueba de carga de los endpoints de Person con k6 (https://k6.io).
+//
+// Aumenta la tasa de solicitudes por etapas hasta MAX_RPS y reporta el p99 de latencia,
+// las solicitudes por segundo realmente atendidas y las iteraciones descartadas
+// (cuando k6 no consigue más usuarios virtuales porque el servidor ya no da abasto).
+//
+// Uso: k6 run -e BASE_URL=http://localhost:8080 -e MAX_RPS=2000 load-test/person-endpoints.js
+//
+// MIX=common limita la mezcla a los endpoints que también ofrece la variante reactiva
+// (por ID y listado completo), para comparar ambas pilas con la misma carga.
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MAX_RPS = parseInt(__ENV.MAX_RPS || '2000', 10);
+const STAGE = __ENV.STAGE || '30s';
+const LABEL = __ENV.LABEL || 'run';
+const MIX = __ENV.MIX || 'full';
+
+export const options = {
+    scenarios: {
+        persons: {
+            executor: 'ramping-arrival-rate',
+            startRate: Math.max(1, Math.floor(MAX_RPS / 10)),
+            timeUnit: '1s',
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+            stages: [
+                { target: Math.floor(MAX_RPS / 4), duration: STAGE },
+                { target: Math.floor(MAX_RPS / 2), duration: STAGE },
+                { target: MAX_RPS, duration: STAGE },
+                { target: MAX_RPS, duration: STAGE },
+            ],
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+// Crea algunas personas para que las lecturas tengan datos.
+export function setup() {
+    const ids = [];
+    for (let i = 0; i < 50; i++) {
+        const res = http.post(`${BASE_URL}/api/persons`, JSON.stringify({
+            name: `Carga ${i}`,
+            phoneNumber: '1234567890',
+            emailAddress: `carga${i}-${Date.now()}@example.com`,
+            address: { street: `Calle ${i}`, city: `Ciudad ${i % 5}` },
+        }), { headers: { 'Content-Type': 'application/json' } });
+        if (res.status === 200) {
+            ids.push(res.json('id'));
+        }
+    }
+    return { ids };
+}
+
+// Mezcla de lecturas representativa: por ID, paginada y por cursor (o por ID y listado con MIX=common).
+export default function (data) {
+    const roll = Math.random();
+    let res;
+    if (roll < 0.6 && data.ids.length > 0) {
+        const id = data.ids[Math.floor(Math.random() * data.ids.length)];
+        res = http.get(`${BASE_URL}/api/persons/${id}`, { tags: { endpoint: 'by-id' } });
+    } else if (MIX === 'common') {
+        res = http.get(`${BASE_URL}/api/persons`, { tags: { endpoint: 'list' } });
+    } else if (roll < 0.8) {
+        res = http.get(`${BASE_URL}/api/persons/paged?page=0&size=20`, { tags: { endpoint: 'paged' } });
+    } else {
+        res = http.get(`${BASE_URL}/api/persons/cursor?size=20`, { tags: { endpoint: 'cursor' } });
+    }
+    check(res, { 'status 200': (r) => r.status === 200 });
+}
+
+export function handleSummary(data) {
+    const duration = data.metrics.http_req_duration.values;
+    const summary = {
+        label: LABEL,
+        p99_ms: duration['p(99)'],
+        p95_ms: duration['p(95)'],
+        rps: data.metrics.http_reqs.values.rate,
+        failed_rate: data.metrics.http_req_failed.values.rate,
+        dropped_iterations: data.metrics.dropped_iterations ? data.metrics.dropped_iterations.values.count : 0,
+    };
+    return {
+        stdout: JSON.stringify(summary) + '\n',
+        [`load-test/results-${LABEL}.json`]: JSON.stringify(data, null, 2),
+    };
+}
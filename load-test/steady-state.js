@@ -0,0 +1,37 @@
+// Carga constante para medir cuánto tarda una instancia recién iniciada en alcanzar su p99 estable.
+// Cada solicitud se guarda con su marca de tiempo (k6 --out csv) y measure-startup.sh calcula el p99 por segundo.
+//
+// Uso: k6 run -e BASE_URL=http://localhost:8080 -e RATE=200 -e DURATION=60s --out csv=salida.csv load-test/steady-state.js
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const RATE = parseInt(__ENV.RATE || '200', 10);
+const DURATION = __ENV.DURATION || '60s';
+const IDS = (__ENV.IDS || '').split(',').filter((id) => id !== '');
+
+export const options = {
+    scenarios: {
+        steady: {
+            executor: 'constant-arrival-rate',
+            rate: RATE,
+            timeUnit: '1s',
+            duration: DURATION,
+            preAllocatedVUs: 100,
+            maxVUs: 1000,
+        },
+    },
+};
+
+// Lecturas por ID sobre los IDs indicados (los mismos que se precargan con WARMUP_PERSON_IDS) y paginadas.
+export default function () {
+    let res;
+    if (IDS.length > 0 && Math.random() < 0.7) {
+        const id = IDS[Math.floor(Math.random() * IDS.length)];
+        res = http.get(`${BASE_URL}/api/persons/${id}`, { tags: { endpoint: 'by-id' } });
+    } else {
+        res = http.get(`${BASE_URL}/api/persons/paged?page=0&size=20`, { tags: { endpoint: 'paged' } });
+    }
+    check(res, { 'status 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,88 @@
+package crud.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import crud.model.Address;
+import crud.model.Person;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datos en memoria compartidos por los benchmarks, para que se ejecuten sin base de datos.
+ */
+public final class BenchmarkData {
+
+    /**
+     * Total de personas simuladas en la tabla (afecta solo a los metadatos de paginación).
+     */
+    public static final long TOTAL_PERSONS = 1_000_000L;
+
+    private BenchmarkData() {
+    }
+
+    public static Person person(long id) {
+        Address address = new Address();
+        address.setId(id);
+        address.setStreet("Calle Falsa " + id);
+        address.setCity("Ciudad " + (id % 50));
+
+        Person person = new Person();
+        person.setId(id);
+        person.setName("Persona " + id);
+        person.setPhoneNumber("1234567890");
+        person.setEmailAddress("persona" + id + "@example.com");
+        person.setAddress(address);
+        return person;
+    }
+
+    public static List<Person> persons(int count) {
+        List<Person> persons = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            persons.add(person(id));
+        }
+        return persons;
+    }
+
+    public static Page<Person> page(int size) {
+        return new PageImpl<>(persons(size), PageRequest.of(3, size), TOTAL_PERSONS);
+    }
+
+    /**
+     * Asocia al hilo actual una solicitud HTTP simulada, como la que tendría un controlador,
+     * para que los enlaces HATEOAS se construyan con el mismo host y esquema que en producción.
+     */
+    public static void bindRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/persons/paged");
+        request.setScheme("https");
+        request.setServerName("api.example.com");
+        request.setServerPort(443);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    public static void unbindRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * ObjectMapper con el módulo HAL, como los que configura Spring HATEOAS para la API.
+     */
+    public static ObjectMapper halObjectMapper(JsonFactory factory) {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().factory(factory).build();
+        objectMapper.registerModule(new Jackson2HalModule());
+        objectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        return objectMapper;
+    }
+}
@@ -0,0 +1,90 @@
+package crud.benchmark;
+
+import crud.service.BloomFilter;
+import crud.service.PersonEmailFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comprobación de correos duplicados durante una importación de 100.000 filas con el filtro de correos
+ * (PersonEmailFilter): cuántas comprobaciones resuelve el filtro sin consultar la base de datos y cuánto cuesta.
+ * <p>
+ * La base ya tiene {@code existing} personas y una fracción {@code duplicateRate} de las filas importadas repite
+ * uno de sus correos. Al preparar el benchmark se imprimen las consultas evitadas (las filas nuevas que el filtro
+ * descarta) y los falsos positivos; sin el filtro, cada fila costaría una consulta. {@code check} mide el costo
+ * del filtro en las 100.000 filas y {@code rebuild} el de construirlo al arrancar.
+ * {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.args="EmailFilter"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailFilterBenchmark {
+
+    private static final int IMPORT_ROWS = 100_000;
+    // Valores por defecto de crud.email-filter.*
+    private static final long EXPECTED_INSERTIONS = 1_000_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Param({"100000", "1000000"})
+    public int existing;
+
+    @Param({"0.0", "0.1"})
+    public double duplicateRate;
+
+    private String[] existingEmails;
+    private String[] importEmails;
+    private BloomFilter filter;
+
+    @Setup
+    public void setUp() {
+        existingEmails = new String[existing];
+        for (int i = 0; i < existing; i++) {
+            existingEmails[i] = PersonEmailFilter.normalize("Persona" + i + "@example.com");
+        }
+        importEmails = new String[IMPORT_ROWS];
+        int duplicates = (int) (IMPORT_ROWS * duplicateRate);
+        for (int i = 0; i < IMPORT_ROWS; i++) {
+            importEmails[i] = i < duplicates
+                    ? existingEmails[(int) ((i * 7919L) % existing)]
+                    : PersonEmailFilter.normalize("Nueva" + i + "@example.com");
+        }
+        filter = rebuild();
+
+        int lookups = check();
+        int falsePositives = lookups - duplicates;
+        System.out.printf("%n%d existentes, %.0f%% duplicados: %d de %d filas consultan la base "
+                        + "(%.1f%% evitadas, %d falsos positivos = %.2f%% de las filas nuevas)%n",
+                existing, duplicateRate * 100, lookups, IMPORT_ROWS, 100.0 * (IMPORT_ROWS - lookups) / IMPORT_ROWS,
+                falsePositives, 100.0 * falsePositives / (IMPORT_ROWS - duplicates));
+    }
+
+    /**
+     * Comprueba cada fila de la importación; devuelve cuántas necesitarían consultar la base.
+     */
+    @Benchmark
+    public int check() {
+        int lookups = 0;
+        for (String email : importEmails) {
+            if (filter.mightContain(email)) {
+                lookups++;
+            }
+        }
+        return lookups;
+    }
+
+    /**
+     * Construye el filtro con los correos existentes, como al arrancar la aplicación.
+     */
+    @Benchmark
+    public BloomFilter rebuild() {
+        BloomFilter bloomFilter = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE);
+        for (String email : existingEmails) {
+            bloomFilter.put(email);
+        }
+        return bloomFilter;
+    }
+}
@@ -0,0 +1,112 @@
+package crud.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import crud.dto.ErrorResponse;
+import crud.exception.PersonNotFoundException;
+import crud.model.Person;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por solicitud de una ráfaga de solicitudes erróneas, como las de un cliente mal configurado:
+ * <ul>
+ *     <li>{@code rejectInvalidPayload}: leer el JSON, validarlo y serializar el mapa de errores (el 400 de
+ *     ValidationExceptionHandler, sin el resto de Spring MVC).</li>
+ *     <li>{@code notFound*}: lanzar y capturar el error de una persona inexistente a {@code depth} marcos de
+ *     profundidad (en Spring MVC son más de 100), con una excepción con traza de pila como la que llegaba
+ *     antes al manejador genérico y con {@link PersonNotFoundException}, sin traza y preasignada.</li>
+ *     <li>{@code errorBody*}: crear y serializar el cuerpo del error con un HashMap por error, como antes,
+ *     o con {@link ErrorResponse}.</li>
+ * </ul>
+ * Ejecutar con {@code -prof gc} para ver también las asignaciones por operación.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InvalidPayloadBenchmark {
+
+    @Param({"20", "150"})
+    public int depth;
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private ObjectMapper objectMapper;
+    private byte[] invalidPayload;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        invalidPayload = """
+                {"name": "", "phoneNumber": "12-34", "emailAddress": "no-es-un-correo",
+                 "address": {"street": "Calle 1", "city": ""}}""".getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public byte[] rejectInvalidPayload() throws Exception {
+        Person person = objectMapper.readValue(invalidPayload, Person.class);
+        Set<ConstraintViolation<Person>> violations = validator.validate(person);
+        Map<String, String> errors = new HashMap<>();
+        violations.forEach(violation -> errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        return objectMapper.writeValueAsBytes(errors);
+    }
+
+    @Benchmark
+    public String notFoundWithStackTrace() {
+        try {
+            return throwAt(depth, false);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String notFoundStackless() {
+        try {
+            return throwAt(depth, true);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public byte[] errorBodyHashMap() throws Exception {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", "Persona no encontrada");
+        return objectMapper.writeValueAsBytes(errorResponse);
+    }
+
+    @Benchmark
+    public byte[] errorBodyRecord() throws Exception {
+        return objectMapper.writeValueAsBytes(ErrorResponse.of("Persona no encontrada"));
+    }
+
+    private static String throwAt(int depth, boolean stackless) {
+        if (depth > 0) {
+            return throwAt(depth - 1, stackless);
+        }
+        if (stackless) {
+            throw PersonNotFoundException.INSTANCE;
+        }
+        throw new IllegalStateException("Persona no encontrada");
+    }
+}
@@ -0,0 +1,92 @@
+package crud.benchmark;
+
+import crud.CrudApplication;
+import crud.dto.BulkResult;
+import crud.model.Person;
+import crud.service.PersonBulkService;
+import crud.service.PersonService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alta de {@code rows} personas con /api/persons/bulk (PersonBulkService: bloques de {@code crud.bulk.chunk-size}
+ * en una transacción cada uno, con JDBC batching y una consulta de correos por bloque) frente a una llamada a
+ * PersonService.savePerson por fila, como haría un importador con POST /api/persons.
+ * <p>
+ * A diferencia del resto, este benchmark arranca la aplicación (perfil test, H2 en memoria) porque mide el
+ * acceso a la base; con PostgreSQL la diferencia crece, ya que cada transacción y cada sentencia cuestan además
+ * una ida y vuelta por la red. Las tablas se vacían tras cada iteración.
+ * {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.args="PersonBulkInsert"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersonBulkInsertBenchmark {
+
+    @Param({"100", "1000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private PersonBulkService personBulkService;
+    private PersonService personService;
+    private JdbcTemplate jdbcTemplate;
+    // Correos distintos en cada invocación, para que ninguna alta sea un duplicado
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CrudApplication.class)
+                .profiles("test")
+                .run("--server.port=0", "--logging.level.root=WARN",
+                        "--spring.datasource.url=jdbc:h2:mem:crud-bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        personBulkService = context.getBean(PersonBulkService.class);
+        personService = context.getBean(PersonService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clean() {
+        jdbcTemplate.update("delete from person_change");
+        jdbcTemplate.update("delete from person");
+        jdbcTemplate.update("delete from address");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BulkResult bulk() {
+        return personBulkService.createPersons(persons());
+    }
+
+    @Benchmark
+    public int perRow() {
+        List<Person> persons = persons();
+        for (Person person : persons) {
+            personService.savePerson(person);
+        }
+        return persons.size();
+    }
+
+    private List<Person> persons() {
+        List<Person> persons = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Person person = BenchmarkData.person(++sequence);
+            person.setId(null);
+            person.getAddress().setId(null);
+            persons.add(person);
+        }
+        return persons;
+    }
+}
@@ -0,0 +1,59 @@
+package crud.benchmark;
+
+import crud.assembler.PersonModelAssembler;
+import crud.model.Person;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo del ensamblado HATEOAS (construcción de enlaces) por persona y por página,
+ * con rutas precalculadas (precomputedLinks=true) y con WebMvcLinkBuilder en cada llamada (false).
+ * Para comparar las asignaciones por operación, ejecutar con el perfilador gc y ver gc.alloc.rate.norm:
+ * {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.args="PersonModelAssembler -prof gc"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PersonModelAssemblerBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int pageSize;
+
+    @Param({"true", "false"})
+    public boolean precomputedLinks;
+
+    private PersonModelAssembler assembler;
+    private Person person;
+    private Page<Person> page;
+
+    @Setup
+    public void setUp() {
+        assembler = new PersonModelAssembler(precomputedLinks);
+        // El estado es por hilo, así que la solicitud simulada queda asociada al hilo del benchmark
+        BenchmarkData.bindRequest();
+        person = BenchmarkData.person(42);
+        page = BenchmarkData.page(pageSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkData.unbindRequest();
+    }
+
+    @Benchmark
+    public EntityModel<Person> toModel() {
+        return assembler.toModel(person);
+    }
+
+    @Benchmark
+    public PagedModel<EntityModel<Person>> toPagedModel() {
+        return assembler.toPagedModel(page);
+    }
+}
@@ -0,0 +1,53 @@
+package crud.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import crud.model.Person;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de serializar Person/Address a JSON con Jackson, individualmente y por página.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersonSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Person person;
+    private List<Person> page;
+    private byte[] personJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Misma configuración base que aplica Spring Boot a su ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        person = BenchmarkData.person(42);
+        page = BenchmarkData.persons(pageSize);
+        personJson = objectMapper.writeValueAsBytes(person);
+    }
+
+    @Benchmark
+    public byte[] serializePerson() throws Exception {
+        return objectMapper.writeValueAsBytes(person);
+    }
+
+    @Benchmark
+    public Person deserializePerson() throws Exception {
+        return objectMapper.readValue(personJson, Person.class);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,67 @@
+package crud.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import crud.assembler.PersonModelAssembler;
+import crud.dto.PersonView;
+import crud.model.Person;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.hateoas.Link;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo y tamaño de una página HAL de personas completas frente a la misma página con {@code fields=id,name}:
+ * ensamblar el modelo con sus enlaces y serializarlo, como en cada solicitud a {@code /api/persons/paged}.
+ * El tamaño de cada respuesta se imprime al preparar el benchmark.
+ * La parte de base de datos (sin join con la dirección ni entidades en el contexto de persistencia)
+ * se comprueba en PersonSparseFieldsetTests.
+ * {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.args="PersonSparseFieldset -prof gc"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersonSparseFieldsetBenchmark {
+
+    @Param({"20", "100", "1000"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PersonModelAssembler assembler;
+    private Page<Person> fullPage;
+    private Page<PersonView> sparsePage;
+    private Link self;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = BenchmarkData.halObjectMapper(new JsonFactory());
+        assembler = new PersonModelAssembler(true);
+        fullPage = BenchmarkData.page(pageSize);
+        sparsePage = fullPage.map(person -> new PersonView(person.getId(), null, person.getName(), null, null, null));
+        self = Link.of("https://api.example.com/api/persons/paged?fields=id,name");
+
+        BenchmarkData.bindRequest();
+        System.out.printf("%n%d personas: completas %d bytes, fields=id,name %d bytes%n", pageSize,
+                fullPage().length, sparsePage().length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkData.unbindRequest();
+    }
+
+    @Benchmark
+    public byte[] fullPage() throws IOException {
+        return objectMapper.writeValueAsBytes(assembler.toPagedModel(fullPage, self));
+    }
+
+    @Benchmark
+    public byte[] sparsePage() throws IOException {
+        return objectMapper.writeValueAsBytes(assembler.toPagedViewModel(sparsePage, self));
+    }
+}
@@ -0,0 +1,56 @@
+package crud.benchmark;
+
+import crud.model.Person;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de la validación con Bean Validation de una persona válida y de una inválida.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersonValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private Person validPerson;
+    private Person invalidPerson;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validPerson = BenchmarkData.person(42);
+
+        invalidPerson = BenchmarkData.person(43);
+        invalidPerson.setName("");
+        invalidPerson.setPhoneNumber("12-34");
+        invalidPerson.setEmailAddress("no-es-un-correo");
+        invalidPerson.getAddress().setCity("");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Person>> validateValidPerson() {
+        return validator.validate(validPerson);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Person>> validateInvalidPerson() {
+        return validator.validate(invalidPerson);
+    }
+}
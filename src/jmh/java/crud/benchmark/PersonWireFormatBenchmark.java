@@ -0,0 +1,93 @@
+package crud.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import crud.assembler.PersonModelAssembler;
+import crud.model.Person;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Tamaño y costo de serializar/deserializar una página HAL de personas en cada representación que ofrece la API:
+ * HAL JSON, HAL JSON comprimido con gzip (como lo envía Tomcat), CBOR y Smile.
+ * El tamaño de cada carga útil se imprime al preparar el benchmark.
+ * {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.args="PersonWireFormat"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersonWireFormatBenchmark {
+
+    public enum Format {
+        JSON, JSON_GZIP, CBOR, SMILE
+    }
+
+    private static final TypeReference<PagedModel<EntityModel<Person>>> PAGE_TYPE = new TypeReference<>() {
+    };
+
+    @Param({"20", "100", "1000"})
+    public int pageSize;
+
+    @Param({"JSON", "JSON_GZIP", "CBOR", "SMILE"})
+    public Format format;
+
+    private ObjectMapper objectMapper;
+    private PagedModel<EntityModel<Person>> page;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case JSON, JSON_GZIP -> BenchmarkData.halObjectMapper(new JsonFactory());
+            case CBOR -> BenchmarkData.halObjectMapper(new CBORFactory());
+            // Misma configuración que WireFormatConfig
+            case SMILE -> BenchmarkData.halObjectMapper(SmileFactory.builder()
+                    .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                    .build());
+        };
+        BenchmarkData.bindRequest();
+        page = new PersonModelAssembler(true).toPagedModel(BenchmarkData.page(pageSize));
+        BenchmarkData.unbindRequest();
+
+        payload = serialize();
+        System.out.printf("%n%s, %d personas: %d bytes%n", format, pageSize, payload.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(page);
+        if (format != Format.JSON_GZIP) {
+            return bytes;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public PagedModel<EntityModel<Person>> deserialize() throws IOException {
+        InputStream in = new ByteArrayInputStream(payload);
+        if (format == Format.JSON_GZIP) {
+            in = new GZIPInputStream(in);
+        }
+        return objectMapper.readValue(in, PAGE_TYPE);
+    }
+}
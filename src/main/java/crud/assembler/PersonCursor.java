@@ -0,0 +1,51 @@
+package crud.assembler;
+
+import crud.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codifica y decodifica los cursores opacos de la paginación por cursor (keyset).
+ * El cursor contiene el ID de la última persona entregada; el cliente solo debe reenviarlo tal cual.
+ */
+public final class PersonCursor {
+
+    private static final String PREFIX = "id:";
+
+    private PersonCursor() {
+    }
+
+    /**
+     * Genera el cursor que apunta a la posición siguiente a la persona indicada.
+     *
+     * @param lastId ID de la última persona de la página actual.
+     * @return El cursor codificado en Base64 apto para URL.
+     */
+    public static String encode(long lastId) {
+        byte[] raw = (PREFIX + lastId).getBytes(StandardCharsets.US_ASCII);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * Obtiene el ID a partir del cual continuar la lectura.
+     *
+     * @param cursor Cursor recibido del cliente, o null para empezar desde el principio.
+     * @return El último ID entregado, o 0 si no hay cursor.
+     * @throws InvalidCursorException Si el cursor no tiene el formato esperado.
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidCursorException(cursor);
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -1,30 +1,112 @@
 package crud.assembler;
 
 import crud.controller.PersonController;
+import crud.dto.PersonView;
 import crud.model.Person;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 
 /**
  * Ensamblador para construir representaciones HATEOAS de la entidad Person.
+ * <p>
+ * Por defecto ({@code crud.hateoas.precomputed-links=true}) las rutas de los enlaces de cada persona
+ * se resuelven una sola vez al iniciar, y por solicitud solo se antepone la URI base (esquema, host,
+ * puerto y context path) y el ID. Así se evita invocar el proxy de {@code methodOn} y volver a analizar
+ * el mapeo del controlador por cada elemento de una página. Con {@code false} se construyen con
+ * {@code linkTo(methodOn(...))} en cada llamada; ambos modos producen los mismos enlaces.
  */
 @Component
 public class PersonModelAssembler implements RepresentationModelAssembler<Person, EntityModel<Person>> {
 
+    private static final String ID_VARIABLE = "{id}";
+
+    private final boolean precomputedLinks;
+
+    // Ruta del enlace "self" de una persona, partida alrededor de la variable {id}
+    private final String personPathPrefix;
+    private final String personPathSuffix;
+
+    // Ruta del enlace "all-persons", igual para todas las personas
+    private final String allPersonsPath;
+
+    public PersonModelAssembler(@Value("${crud.hateoas.precomputed-links:true}") boolean precomputedLinks) {
+        this.precomputedLinks = precomputedLinks;
+
+        // Las rutas se resuelven sin solicitud asociada para obtenerlas relativas a la aplicación
+        RequestAttributes current = RequestContextHolder.getRequestAttributes();
+        RequestContextHolder.resetRequestAttributes();
+        try {
+            String personPath = linkTo(methodOn(PersonController.class).getPersonById(null, null)).withSelfRel().getHref();
+            int idIndex = personPath.indexOf(ID_VARIABLE);
+            this.personPathPrefix = personPath.substring(0, idIndex);
+            this.personPathSuffix = personPath.substring(idIndex + ID_VARIABLE.length());
+            this.allPersonsPath = linkTo(methodOn(PersonController.class).getAllPersonsPaged(0, 10)).withSelfRel().getHref();
+        } finally {
+            RequestContextHolder.setRequestAttributes(current);
+        }
+    }
+
     @Override
     public EntityModel<Person> toModel(Person person) {
+        return modelFactory(Person::getId).apply(person);
+    }
+
+    /**
+     * Modelo de una persona con solo algunos campos ({@code fields=}), con los mismos enlaces que la persona completa.
+     */
+    public EntityModel<PersonView> toModel(PersonView person) {
+        return modelFactory(PersonView::id).apply(person);
+    }
+
+    // Construye los enlaces de una persona con WebMvcLinkBuilder (modo sin rutas precalculadas).
+    private static <T> EntityModel<T> toModelWithLinkBuilder(T person, Long id) {
         return EntityModel.of(person,
-                linkTo(methodOn(PersonController.class).getPersonById(person.getId())).withSelfRel(),
+                linkTo(methodOn(PersonController.class).getPersonById(id, null)).withSelfRel(),
                 linkTo(methodOn(PersonController.class).getAllPersonsPaged(0, 10)).withRel("all-persons"));
     }
 
+    /**
+     * Devuelve la función que convierte cada persona (entidad o proyección) en su modelo para la solicitud actual.
+     * Con rutas precalculadas, la URI base y el enlace "all-persons" se calculan una sola vez
+     * y se comparten entre todos los elementos de la página.
+     */
+    private <T> Function<T, EntityModel<T>> modelFactory(Function<T, Long> idOf) {
+        if (!precomputedLinks) {
+            return person -> toModelWithLinkBuilder(person, idOf.apply(person));
+        }
+        String baseUri = currentBaseUri();
+        Link allPersons = Link.of(baseUri + allPersonsPath, "all-persons");
+        String personPrefix = baseUri + personPathPrefix;
+        return person -> EntityModel.of(person,
+                Link.of(personPrefix + idOf.apply(person) + personPathSuffix),
+                allPersons);
+    }
+
+    // URI base de la solicitud actual, la misma que usa WebMvcLinkBuilder; vacía fuera de una solicitud.
+    private static String currentBaseUri() {
+        if (RequestContextHolder.getRequestAttributes() == null) {
+            return "";
+        }
+        return ServletUriComponentsBuilder.fromCurrentServletMapping().toUriString();
+    }
+
     /**
      * Convierte un Page<Person> en un PagedModel<EntityModel<Person>> con enlaces HATEOAS.
      *
@@ -32,17 +114,76 @@ public class PersonModelAssembler implements RepresentationModelAssembler<Person
      * @return Un modelo paginado con enlaces HATEOAS.
      */
     public PagedModel<EntityModel<Person>> toPagedModel(Page<Person> personPage) {
+        return toPagedModel(personPage, linkTo(methodOn(PersonController.class)
+                .getAllPersonsPaged(personPage.getNumber(), personPage.getSize()))
+                .withSelfRel());
+    }
+
+    /**
+     * Convierte un Page<Person> en un PagedModel<EntityModel<Person>> con el enlace "self" indicado
+     * (por ejemplo, el de una búsqueda con sus filtros).
+     *
+     * @param personPage Página de personas.
+     * @param selfLink   Enlace a la página actual.
+     * @return Un modelo paginado con enlaces HATEOAS.
+     */
+    public PagedModel<EntityModel<Person>> toPagedModel(Page<Person> personPage, Link selfLink) {
+        return toPagedModel(personPage, modelFactory(Person::getId), selfLink);
+    }
+
+    /**
+     * Convierte una página de proyecciones ({@code fields=}) en un PagedModel con enlaces HATEOAS.
+     *
+     * @param personPage Página de proyecciones de personas.
+     * @param selfLink   Enlace a la página actual, con el parámetro fields.
+     * @return Un modelo paginado con enlaces HATEOAS.
+     */
+    public PagedModel<EntityModel<PersonView>> toPagedViewModel(Page<PersonView> personPage, Link selfLink) {
+        return toPagedModel(personPage, modelFactory(PersonView::id), selfLink);
+    }
+
+    private static <T> PagedModel<EntityModel<T>> toPagedModel(Page<T> personPage,
+                                                              Function<T, EntityModel<T>> modelFactory,
+                                                              Link selfLink) {
         return PagedModel.of(
-                personPage.stream().map(this::toModel).collect(Collectors.toList()),
+                personPage.stream().map(modelFactory).collect(Collectors.toList()),
                 new PagedModel.PageMetadata(
                         personPage.getSize(),
                         personPage.getNumber(),
                         personPage.getTotalElements(),
                         personPage.getTotalPages()
                 ),
-                linkTo(methodOn(PersonController.class)
-                        .getAllPersonsPaged(personPage.getNumber(), personPage.getSize()))
-                        .withSelfRel()
+                selfLink
         );
     }
+
+    /**
+     * Convierte un Slice<Person> de la paginación por cursor en un CollectionModel con enlaces HATEOAS.
+     * Si hay más resultados, agrega un enlace "next" con el cursor opaco de la siguiente página.
+     *
+     * @param personSlice  Porción de personas obtenida a partir del cursor.
+     * @param cursor       Cursor con el que se pidió esta porción (null para la primera).
+     * @param size         Tamaño de página solicitado.
+     * @param includeTotal Si el cliente pidió el total de elementos.
+     * @return Un modelo de colección con enlaces "self" y, si corresponde, "next".
+     */
+    public CollectionModel<EntityModel<Person>> toCursorModel(Slice<Person> personSlice, String cursor,
+                                                             int size, boolean includeTotal) {
+        List<Link> links = new ArrayList<>(2);
+        links.add(linkTo(methodOn(PersonController.class)
+                .getPersonsByCursor(cursor, size, includeTotal))
+                .withSelfRel());
+
+        List<Person> content = personSlice.getContent();
+        if (personSlice.hasNext() && !content.isEmpty()) {
+            String nextCursor = PersonCursor.encode(content.get(content.size() - 1).getId());
+            links.add(linkTo(methodOn(PersonController.class)
+                    .getPersonsByCursor(nextCursor, size, includeTotal))
+                    .withRel("next"));
+        }
+
+        return CollectionModel.of(
+                content.stream().map(modelFactory(Person::getId)).collect(Collectors.toList()),
+                links);
+    }
 }
@@ -0,0 +1,22 @@
+package crud.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Habilita la abstracción de caché de Spring.
+ * El proveedor (Caffeine), el tamaño máximo y el tiempo de vida se definen en application.properties
+ * ({@code spring.cache.*}); las estadísticas de aciertos, fallos y desalojos se publican en Actuator.
+ * El interceptor de caché se ordena por fuera del transaccional: un acierto no abre transacción
+ * ni pide conexión, y las escrituras en la caché ocurren después del commit.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    /**
+     * Caché de personas por ID, usada por PersonService y PersonBulkService.
+     */
+    public static final String PERSONS_CACHE = "persons";
+}
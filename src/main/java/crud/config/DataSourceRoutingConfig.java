@@ -0,0 +1,70 @@
+package crud.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Separación de lecturas y escrituras entre la base de datos primaria y una réplica.
+ * Solo se activa si se configura {@code crud.datasource.replica.url}; sin ella la aplicación usa
+ * el único DataSource de {@code spring.datasource} que crea Spring Boot.
+ * <p>
+ * Los métodos {@code @Transactional(readOnly = true)} del servicio leen de la réplica y todo lo
+ * demás (escrituras, scripts de esquema, validación de Hibernate) usa el primario. Cada destino
+ * tiene su propio pool de Hikari, configurable con {@code spring.datasource.hikari.*} y
+ * {@code crud.datasource.replica.hikari.*}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "crud.datasource.replica", name = "url")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("crud.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${crud.datasource.replica.url}") String url,
+                                              @Value("${crud.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${crud.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    /**
+     * DataSource usado por JPA y los scripts de esquema.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource();
+        routingDataSource.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.Route.PRIMARY, primaryDataSource,
+                ReadWriteRoutingDataSource.Route.REPLICA, replicaDataSource));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
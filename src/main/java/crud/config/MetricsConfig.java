@@ -0,0 +1,35 @@
+package crud.config;
+
+import crud.metrics.SqlStatementCounter;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de métricas (Micrometer).
+ * Los tiempos por endpoint (http.server.requests), el pool Hikari (hikaricp.*), la caché (cache.*)
+ * y las estadísticas de Hibernate (hibernate.*) los registra Spring Boot; aquí se agregan los tiempos
+ * por metodo del servicio (@Timed) y el conteo de sentencias SQL por solicitud.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Habilita la anotación @Timed en los beans de Spring.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Registra el contador de sentencias SQL como StatementInspector de Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+}
@@ -0,0 +1,23 @@
+package crud.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource que envía las transacciones de solo lectura a la réplica y el resto al primario.
+ * La decisión se toma al pedir la conexión, por lo que debe envolverse en un
+ * LazyConnectionDataSourceProxy: así la conexión se obtiene en la primera sentencia,
+ * cuando la transacción ya quedó marcada como readOnly.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.REPLICA : Route.PRIMARY;
+    }
+}
@@ -0,0 +1,12 @@
+package crud.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas periódicas (@Scheduled), como la reconciliación de las estadísticas de personas.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
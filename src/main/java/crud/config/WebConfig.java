@@ -0,0 +1,20 @@
+package crud.config;
+
+import crud.service.PersonExportFormat;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuración adicional de Spring MVC.
+ * Registra los conversores usados para enlazar parámetros de consulta con tipos propios de la aplicación.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        // Permite ?format=ndjson o ?format=JSON indistintamente
+        registry.addConverter(String.class, PersonExportFormat.class, PersonExportFormat::fromParameter);
+    }
+}
@@ -0,0 +1,41 @@
+package crud.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.hateoas.mediatype.hal.HalMediaTypeConfiguration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Representaciones binarias de la API para clientes servicio a servicio, elegidas por negociación de contenido:
+ * {@code Accept: application/cbor} o {@code Accept: application/x-jackson-smile}. Sin esa cabecera la API sigue
+ * respondiendo HAL JSON.
+ * <p>
+ * Los conversores reemplazan a los que Spring MVC registra por defecto al detectar estos formatos, que usan un
+ * ObjectMapper propio: aquí parten de la misma configuración que el JSON de Spring Boot y agregan el módulo HAL,
+ * de modo que el documento (_embedded, _links, page) tiene la misma estructura en los tres formatos.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder,
+                                                                           HalMediaTypeConfiguration halConfiguration) {
+        ObjectMapper objectMapper = builder.factory(new CBORFactory()).build();
+        return new MappingJackson2CborHttpMessageConverter(halConfiguration.configureObjectMapper(objectMapper));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder,
+                                                                             HalMediaTypeConfiguration halConfiguration) {
+        // Los valores repetidos (enlaces, ciudades) se escriben una vez y después como referencia
+        SmileFactory factory = SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build();
+        ObjectMapper objectMapper = builder.factory(factory).build();
+        return new MappingJackson2SmileHttpMessageConverter(halConfiguration.configureObjectMapper(objectMapper));
+    }
+}
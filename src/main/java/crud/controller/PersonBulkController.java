@@ -0,0 +1,95 @@
+package crud.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import crud.dto.BulkResult;
+import crud.model.Person;
+import crud.service.PersonBulkService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Controlador REST para las operaciones masivas sobre la entidad Person.
+ * Pensado para cargas de datos: recibe arreglos JSON o NDJSON y devuelve el resultado de cada elemento.
+ */
+@RestController
+@RequestMapping("/api/persons/bulk")
+public class PersonBulkController {
+
+    private final PersonBulkService personBulkService;
+    private final ObjectReader personReader;
+    private static final Logger logger = LoggerFactory.getLogger(PersonBulkController.class);
+
+    public PersonBulkController(PersonBulkService personBulkService, ObjectMapper objectMapper) {
+        this.personBulkService = personBulkService;
+        this.personReader = objectMapper.readerFor(Person.class);
+    }
+
+    /**
+     * Crear varias personas a partir de un arreglo JSON.
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkResult> createPersons(@RequestBody List<Person> persons) {
+        logger.debug("Solicitud recibida para crear {} personas", persons.size());
+        return ResponseEntity.ok(personBulkService.createPersons(persons));
+    }
+
+    /**
+     * Crear varias personas a partir de NDJSON (una persona JSON por línea).
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkResult> createPersonsNdjson(HttpServletRequest request) throws IOException {
+        List<Person> persons = readNdjson(request);
+        logger.debug("Solicitud recibida para crear {} personas (NDJSON)", persons.size());
+        return ResponseEntity.ok(personBulkService.createPersons(persons));
+    }
+
+    /**
+     * Actualizar varias personas existentes; cada elemento debe incluir su ID.
+     */
+    @PutMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkResult> updatePersons(@RequestBody List<Person> persons) {
+        logger.debug("Solicitud recibida para actualizar {} personas", persons.size());
+        return ResponseEntity.ok(personBulkService.updatePersons(persons));
+    }
+
+    /**
+     * Actualizar varias personas existentes a partir de NDJSON.
+     */
+    @PutMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkResult> updatePersonsNdjson(HttpServletRequest request) throws IOException {
+        List<Person> persons = readNdjson(request);
+        logger.debug("Solicitud recibida para actualizar {} personas (NDJSON)", persons.size());
+        return ResponseEntity.ok(personBulkService.updatePersons(persons));
+    }
+
+    /**
+     * Eliminar varias personas a partir de un arreglo JSON de IDs.
+     */
+    @DeleteMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkResult> deletePersons(@RequestBody List<Long> ids) {
+        logger.debug("Solicitud recibida para eliminar {} personas", ids.size());
+        return ResponseEntity.ok(personBulkService.deletePersons(ids));
+    }
+
+    // Lee todas las personas del cuerpo NDJSON; un documento mal formado rechaza la solicitud completa.
+    private List<Person> readNdjson(HttpServletRequest request) throws IOException {
+        try (MappingIterator<Person> iterator = personReader.readValues(request.getInputStream())) {
+            return iterator.readAll();
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("NDJSON inválido: " + e.getOriginalMessage(), e,
+                    new ServletServerHttpRequest(request));
+        }
+    }
+}
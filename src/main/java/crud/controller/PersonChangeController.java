@@ -0,0 +1,55 @@
+package crud.controller;
+
+import crud.dto.PersonChanges;
+import crud.service.PersonChangeBroadcaster;
+import crud.service.PersonChangeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controlador REST para la sincronización incremental de personas.
+ * Los clientes guardan el token {@code next} de cada respuesta y piden solo lo que cambió desde entonces,
+ * en lugar de descargar la colección completa; opcionalmente se suscriben al flujo SSE para saber cuándo
+ * volver a consultar.
+ */
+@RestController
+@RequestMapping("/api/persons/changes")
+public class PersonChangeController {
+
+    private final PersonChangeService personChangeService;
+    private final PersonChangeBroadcaster personChangeBroadcaster;
+    private static final Logger logger = LoggerFactory.getLogger(PersonChangeController.class);
+
+    public PersonChangeController(PersonChangeService personChangeService,
+                                  PersonChangeBroadcaster personChangeBroadcaster) {
+        this.personChangeService = personChangeService;
+        this.personChangeBroadcaster = personChangeBroadcaster;
+    }
+
+    /**
+     * Obtener los cambios posteriores al token {@code since} (0 para la primera sincronización).
+     */
+    @GetMapping
+    public ResponseEntity<PersonChanges> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                    @RequestParam(defaultValue = "500") int limit) {
+        logger.debug("Solicitud recibida para obtener cambios desde {}", since);
+        return ResponseEntity.ok(personChangeService.getChanges(since, limit));
+    }
+
+    /**
+     * Suscribirse a las notificaciones de cambios (Server-Sent Events). El ID de cada evento es su
+     * número de secuencia, utilizable como {@code since}.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges() {
+        logger.debug("Nueva suscripción al flujo de cambios");
+        return personChangeBroadcaster.subscribe();
+    }
+}
@@ -1,19 +1,52 @@
 package crud.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import crud.assembler.PersonCursor;
 import crud.assembler.PersonModelAssembler;
+import crud.dto.PersonSearchCriteria;
+import crud.dto.PersonVersion;
+import crud.dto.PersonView;
+import crud.dto.WriteStatus;
+import crud.exception.DuplicateEmailException;
+import crud.exception.InvalidPageSizeException;
+import crud.exception.PersonNotFoundException;
 import crud.model.Person;
+import crud.service.PersonExportFormat;
+import crud.service.PersonField;
 import crud.service.PersonService;
+import crud.service.PersonWriteQueue;
+import crud.service.PersonSortField;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
 import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 /**
  * Controlador REST para gestionar las operaciones CRUD relacionadas con la entidad Person.
@@ -24,11 +57,17 @@ public class PersonController {
 
     private final PersonService personService;
     private final PersonModelAssembler personModelAssembler;
+    private final ObjectProvider<PersonWriteQueue> personWriteQueue;
     private static final Logger logger = LoggerFactory.getLogger(PersonController.class);
 
-    public PersonController(PersonService personService, PersonModelAssembler personModelAssembler) {
+    private static final String PREFER = "Prefer";
+    private static final String RESPOND_ASYNC = "respond-async";
+
+    public PersonController(PersonService personService, PersonModelAssembler personModelAssembler,
+                            ObjectProvider<PersonWriteQueue> personWriteQueue) {
         this.personService = personService;
         this.personModelAssembler = personModelAssembler;
+        this.personWriteQueue = personWriteQueue;
     }
 
     /**
@@ -36,10 +75,36 @@ public class PersonController {
      */
     @GetMapping
     public List<Person> getAllPersons() {
-        logger.info("Solicitud recibida para obtener todas las personas");
+        logger.debug("Solicitud recibida para obtener todas las personas");
         return personService.getAllPersons();
     }
 
+    /**
+     * Obtener todas las personas con solo los campos indicados, por ejemplo {@code ?fields=name,address.city}.
+     * Se consultan únicamente esas columnas (la dirección solo si se pide alguno de sus campos), sin cargar entidades.
+     */
+    @GetMapping(params = "fields")
+    public List<PersonView> getAllPersonViews(@RequestParam List<String> fields) {
+        logger.debug("Solicitud recibida para obtener todas las personas (campos: {})", fields);
+        return personService.getPersonViews(PersonField.parse(fields));
+    }
+
+    /**
+     * Exportar todas las personas en streaming (NDJSON o arreglo JSON).
+     * Las filas se escriben en la respuesta a medida que se leen, sin cargar la tabla completa en memoria.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPersons(
+            @RequestParam(defaultValue = "ndjson") PersonExportFormat format) {
+
+        logger.debug("Solicitud recibida para exportar todas las personas (formato: {})", format);
+
+        StreamingResponseBody body = out -> personService.exportPersons(format, out);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .body(body);
+    }
+
     /**
      * Obtener una lista paginada de personas.
      */
@@ -48,40 +113,154 @@ public class PersonController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
 
-        logger.info("Solicitud recibida para obtener personas con paginación (página: {}, tamaño: {})", page, size);
+        logger.debug("Solicitud recibida para obtener personas con paginación (página: {}, tamaño: {})", page, size);
 
-        Page<Person> personPage = personService.getAllPersons(PageRequest.of(page, size));
+        Page<Person> personPage = personService.getAllPersons(PageRequest.of(page, pageSize(size)));
         PagedModel<EntityModel<Person>> pagedModel = personModelAssembler.toPagedModel(personPage);
 
         return ResponseEntity.ok(pagedModel);
     }
 
+    /**
+     * Obtener una lista paginada de personas con solo los campos indicados ({@code fields=}).
+     */
+    @GetMapping(value = "/paged", params = "fields")
+    public ResponseEntity<PagedModel<EntityModel<PersonView>>> getAllPersonViewsPaged(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam List<String> fields) {
+
+        logger.debug("Solicitud recibida para obtener personas con paginación (página: {}, tamaño: {}, campos: {})",
+                page, size, fields);
+
+        Page<PersonView> personPage = personService.getPersonViews(PersonField.parse(fields), PageRequest.of(page, pageSize(size)));
+        Link self = Link.of(ServletUriComponentsBuilder.fromCurrentRequest().toUriString());
+        return ResponseEntity.ok(personModelAssembler.toPagedViewModel(personPage, self));
+    }
+
+    /**
+     * Buscar personas por prefijo o texto del nombre, correo, teléfono y ciudad, con paginación.
+     * Los filtros se combinan con AND y se resuelven en la base de datos usando índices.
+     * El orden se indica con una lista de campos (id, name, email, phone, city), con "-" para descendente.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<PagedModel<EntityModel<Person>>> searchPersons(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String phone,
+            @RequestParam(required = false) String city,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") List<String> sort) {
+
+        logger.debug("Solicitud recibida para buscar personas (página: {}, tamaño: {}, orden: {})", page, size, sort);
+
+        PersonSearchCriteria criteria = new PersonSearchCriteria(name, q, email, phone, city);
+        Page<Person> personPage = personService.searchPersons(criteria,
+                PageRequest.of(page, pageSize(size), PersonSortField.toSort(sort)));
+        Link self = linkTo(methodOn(PersonController.class)
+                .searchPersons(name, q, email, phone, city, page, size, sort))
+                .withSelfRel()
+                .expand(); // omite del enlace los filtros no informados
+
+        return ResponseEntity.ok(personModelAssembler.toPagedModel(personPage, self));
+    }
+
+    /**
+     * Obtener personas con paginación por cursor (keyset).
+     * A diferencia de /paged, no usa OFFSET ni ejecuta count(*) salvo que se pida con includeTotal,
+     * de modo que cualquier página cuesta lo mismo que la primera. El total, si se pide,
+     * se devuelve en la cabecera X-Total-Count.
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CollectionModel<EntityModel<Person>>> getPersonsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        logger.debug("Solicitud recibida para obtener personas por cursor (tamaño: {}, total: {})", size, includeTotal);
+
+        Slice<Person> personSlice = personService.getPersonsAfter(PersonCursor.decode(cursor), pageSize(size));
+        CollectionModel<EntityModel<Person>> model =
+                personModelAssembler.toCursorModel(personSlice, cursor, size, includeTotal);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (includeTotal) {
+            response.header("X-Total-Count", String.valueOf(personService.countPersons()));
+        }
+        return response.body(model);
+    }
+
     /**
      * Obtener una persona por ID.
+     * La respuesta incluye un ETag fuerte derivado de la versión de la persona y de su dirección.
+     * Si el cliente envía If-None-Match con el ETag vigente se responde 304 sin cuerpo,
+     * consultando solo las versiones en lugar de cargar y serializar la persona.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<EntityModel<Person>> getPersonById(@PathVariable Long id) {
-        logger.info("Solicitud recibida para obtener la persona con ID: {}", id);
+    public ResponseEntity<EntityModel<Person>> getPersonById(@PathVariable Long id, WebRequest request) {
+        logger.debug("Solicitud recibida para obtener la persona con ID: {}", id);
+
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            PersonVersion version = personService.getPersonVersion(id);
+            if (version != null && request.checkNotModified(version.toETag())) {
+                return null; // 304 Not Modified, ya preparado por checkNotModified
+            }
+        }
 
         Person person = personService.getPersonById(id);
         if (person == null) {
-            logger.warn("Persona con ID: {} no encontrada", id);
+            logger.debug("Persona con ID: {} no encontrada", id);
             return ResponseEntity.notFound().build();
         }
 
+        return ResponseEntity.ok()
+                .eTag(PersonVersion.of(person).toETag())
+                .body(personModelAssembler.toModel(person));
+    }
+
+    /**
+     * Obtener una persona por ID con solo los campos indicados ({@code fields=}).
+     * No incluye ETag ni admite If-None-Match: la proyección no tiene por qué incluir las versiones.
+     */
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<EntityModel<PersonView>> getPersonViewById(@PathVariable Long id,
+                                                                    @RequestParam List<String> fields) {
+        logger.debug("Solicitud recibida para obtener la persona con ID: {} (campos: {})", id, fields);
+
+        PersonView person = personService.getPersonView(id, PersonField.parse(fields));
+        if (person == null) {
+            logger.debug("Persona con ID: {} no encontrada", id);
+            return ResponseEntity.notFound().build();
+        }
         return ResponseEntity.ok(personModelAssembler.toModel(person));
     }
 
     /**
      * Crear una nueva persona.
+     * Con {@code Prefer: respond-async} y la escritura diferida habilitada, la persona se encola y se
+     * responde 202 con la URL de estado de la escritura en Location.
      */
     @PostMapping
-    public ResponseEntity<?> createPerson(@RequestBody @Valid Person person) {
+    public ResponseEntity<?> createPerson(@RequestBody @Valid Person person, WebRequest request) {
+        PersonWriteQueue writeQueue = asyncWriteQueue(request);
+        if (writeQueue != null) {
+            logger.debug("Solicitud recibida para crear una nueva persona de forma asíncrona: {}", person.getName());
+            return accepted(writeQueue.enqueueCreate(person));
+        }
         try {
-            logger.info("Solicitud recibida para crear una nueva persona: {}", person.getName());
+            logger.debug("Solicitud recibida para crear una nueva persona: {}", person.getName());
             Person savedPerson = personService.savePerson(person);
-            return ResponseEntity.ok(personModelAssembler.toModel(savedPerson));
+            return ResponseEntity.ok()
+                    .eTag(PersonVersion.of(savedPerson).toETag())
+                    .body(personModelAssembler.toModel(savedPerson));
+        } catch (DuplicateEmailException e) {
+            throw e; // 409, ver GlobalExceptionHandler
         } catch (Exception e) {
+            if (DuplicateEmailException.isViolation(e)) {
+                throw e; // alta concurrente con el mismo correo: 409, ver GlobalExceptionHandler
+            }
             logger.error("Error al crear una nueva persona", e);
             return ResponseEntity.status(500).body("{\"error\": \"Ocurrió un error al guardar la persona.\"}");
         }
@@ -89,32 +268,127 @@ public class PersonController {
 
     /**
      * Actualizar datos de una persona existente.
+     * Con If-Match, la actualización solo se aplica si la persona sigue en la versión indicada
+     * (412 Precondition Failed en caso contrario).
+     * Sin If-Match, admite {@code Prefer: respond-async} igual que POST.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<EntityModel<Person>> updatePerson(@PathVariable Long id, @Valid @RequestBody Person personDetails) {
-        logger.info("Solicitud recibida para actualizar la persona con ID: {}", id);
-        Person person = personService.getPersonById(id);
-        if (person == null) {
-            logger.warn("Persona con ID: {} no encontrada", id);
+    public ResponseEntity<?> updatePerson(@PathVariable Long id,
+                                          @Valid @RequestBody Person personDetails,
+                                          WebRequest request) {
+        PersonWriteQueue writeQueue = request.getHeader(HttpHeaders.IF_MATCH) == null ? asyncWriteQueue(request) : null;
+        if (writeQueue != null) {
+            logger.debug("Solicitud recibida para actualizar la persona con ID: {} de forma asíncrona", id);
+            personDetails.setId(id);
+            return accepted(writeQueue.enqueueUpdate(personDetails));
+        }
+        logger.debug("Solicitud recibida para actualizar la persona con ID: {}", id);
+        Person updatedPerson = personService.updatePerson(id, personDetails, expectedVersion(id, request));
+        if (updatedPerson == null) {
+            logger.debug("Persona con ID: {} no encontrada", id);
             return ResponseEntity.notFound().build();
         }
-        person.setName(personDetails.getName());
-        person.setPhoneNumber(personDetails.getPhoneNumber());
-        person.setEmailAddress(personDetails.getEmailAddress());
-        person.setAddress(personDetails.getAddress());
+        return ResponseEntity.ok()
+                .eTag(PersonVersion.of(updatedPerson).toETag())
+                .body(personModelAssembler.toModel(updatedPerson));
+    }
 
-        Person updatedPerson = personService.savePerson(person);
-        return ResponseEntity.ok(personModelAssembler.toModel(updatedPerson));
+    /**
+     * Actualizar parcialmente una persona con JSON Merge Patch (RFC 7396).
+     * Solo se envían los campos a modificar (null elimina un campo opcional); la dirección se
+     * modifica en su lugar y el UPDATE solo incluye las columnas que cambiaron.
+     * Admite If-Match igual que PUT.
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<EntityModel<Person>> patchPerson(@PathVariable Long id,
+                                                           @RequestBody ObjectNode patch,
+                                                           NativeWebRequest request) {
+        logger.debug("Solicitud recibida para actualizar parcialmente la persona con ID: {}", id);
+        Person patchedPerson;
+        try {
+            patchedPerson = personService.patchPerson(id, patch, expectedVersion(id, request));
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("Merge patch inválido: " + e.getOriginalMessage(), e,
+                    new ServletServerHttpRequest(request.getNativeRequest(HttpServletRequest.class)));
+        }
+        if (patchedPerson == null) {
+            logger.debug("Persona con ID: {} no encontrada", id);
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .eTag(PersonVersion.of(patchedPerson).toETag())
+                .body(personModelAssembler.toModel(patchedPerson));
     }
 
     /**
-     * Eliminar una persona existente por ID.
+     * Eliminar una persona existente por ID (404 si no existe).
+     * Con If-Match, solo se elimina si la persona sigue en la versión indicada
+     * (412 Precondition Failed en caso contrario).
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deletePerson(@PathVariable Long id) {
-        logger.info("Solicitud recibida para eliminar la persona con ID: {}", id);
-        personService.deletePerson(id);
-        logger.info("Persona con ID: {} eliminada exitosamente", id);
+    public ResponseEntity<Void> deletePerson(@PathVariable Long id, WebRequest request) {
+        logger.debug("Solicitud recibida para eliminar la persona con ID: {}", id);
+        personService.deletePerson(id, expectedVersion(id, request));
+        logger.debug("Persona con ID: {} eliminada exitosamente", id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Consultar el estado de una escritura aceptada con {@code Prefer: respond-async}.
+     * Responde 404 si el ticket no existe, ya expiró o la escritura diferida no está habilitada.
+     */
+    @GetMapping("/writes/{ticket}")
+    public ResponseEntity<WriteStatus> getWriteStatus(@PathVariable UUID ticket) {
+        PersonWriteQueue writeQueue = personWriteQueue.getIfAvailable();
+        WriteStatus status = writeQueue != null ? writeQueue.getStatus(ticket) : null;
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
+
+    // Tamaño de página de los endpoints paginados: un valor no positivo es un 400, no un error de PageRequest
+    private static int pageSize(int size) {
+        if (size <= 0) {
+            throw new InvalidPageSizeException(size);
+        }
+        return size;
+    }
+
+    /**
+     * Devuelve la cola de escrituras si el cliente pidió {@code Prefer: respond-async} y la escritura
+     * diferida está habilitada; si no, la preferencia se ignora y la escritura es síncrona.
+     */
+    private PersonWriteQueue asyncWriteQueue(WebRequest request) {
+        String prefer = request.getHeader(PREFER);
+        if (prefer == null || !prefer.contains(RESPOND_ASYNC)) {
+            return null;
+        }
+        return personWriteQueue.getIfAvailable();
+    }
+
+    private ResponseEntity<WriteStatus> accepted(WriteStatus status) {
+        URI location = linkTo(PersonController.class).slash("writes").slash(status.ticket()).toUri();
+        return ResponseEntity.accepted()
+                .location(location)
+                .header("Preference-Applied", RESPOND_ASYNC)
+                .body(status);
+    }
+
+    /**
+     * Comprueba la cabecera If-Match contra la versión actual de la persona, consultando solo sus versiones.
+     * Devuelve la versión validada, que el servicio vuelve a comprobar dentro de su transacción,
+     * o null si la solicitud no incluye If-Match.
+     */
+    private PersonVersion expectedVersion(Long id, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_MATCH) == null) {
+            return null;
+        }
+        PersonVersion currentVersion = personService.getPersonVersion(id);
+        if (currentVersion == null) {
+            throw PersonNotFoundException.INSTANCE;
+        }
+        if (request.checkNotModified(currentVersion.toETag())) {
+            // La versión no coincide: se responde 412 Precondition Failed
+            throw new ObjectOptimisticLockingFailureException(Person.class, id);
+        }
+        return currentVersion;
+    }
 }
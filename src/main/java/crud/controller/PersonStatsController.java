@@ -0,0 +1,35 @@
+package crud.controller;
+
+import crud.dto.PersonStats;
+import crud.service.PersonStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador REST para las estadísticas agregadas de personas.
+ * Pensado para los tableros, que antes descargaban todas las personas para contarlas.
+ */
+@RestController
+@RequestMapping("/api/persons/stats")
+public class PersonStatsController {
+
+    private final PersonStatsService personStatsService;
+    private static final Logger logger = LoggerFactory.getLogger(PersonStatsController.class);
+
+    public PersonStatsController(PersonStatsService personStatsService) {
+        this.personStatsService = personStatsService;
+    }
+
+    /**
+     * Obtener el número total de personas y el número por ciudad.
+     */
+    @GetMapping
+    public ResponseEntity<PersonStats> getStats() {
+        logger.debug("Solicitud recibida para obtener las estadísticas");
+        return ResponseEntity.ok(personStatsService.getStats());
+    }
+}
@@ -0,0 +1,52 @@
+package crud.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * Resultado de un elemento individual dentro de una operación masiva.
+ *
+ * @param index  Posición del elemento en la solicitud original (empezando en 0).
+ * @param id     ID de la persona afectada, si se conoce.
+ * @param status Código HTTP equivalente al resultado del elemento (201, 200, 204, 400, 404, 409, 500...).
+ * @param errors Errores de validación o de persistencia del elemento, si los hubo.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkItemResult(int index, Long id, int status, Map<String, String> errors) {
+
+    public static BulkItemResult created(int index, Long id) {
+        return new BulkItemResult(index, id, 201, null);
+    }
+
+    public static BulkItemResult updated(int index, Long id) {
+        return new BulkItemResult(index, id, 200, null);
+    }
+
+    public static BulkItemResult deleted(int index, Long id) {
+        return new BulkItemResult(index, id, 204, null);
+    }
+
+    public static BulkItemResult invalid(int index, Long id, Map<String, String> errors) {
+        return new BulkItemResult(index, id, 400, errors);
+    }
+
+    public static BulkItemResult notFound(int index, Long id) {
+        return new BulkItemResult(index, id, 404, Map.of("error", "Persona no encontrada"));
+    }
+
+    public static BulkItemResult conflict(int index, Long id, String message) {
+        return new BulkItemResult(index, id, 409, Map.of("error", message));
+    }
+
+    public static BulkItemResult failed(int index, Long id, String message) {
+        return new BulkItemResult(index, id, 500, Map.of("error", message));
+    }
+
+    /**
+     * Indica si el elemento se procesó correctamente.
+     */
+    public boolean succeeded() {
+        return status < 300;
+    }
+}
@@ -0,0 +1,19 @@
+package crud.dto;
+
+import java.util.List;
+
+/**
+ * Resumen de una operación masiva (creación, actualización o eliminación de varias personas).
+ *
+ * @param total     Número de elementos recibidos.
+ * @param succeeded Número de elementos procesados correctamente.
+ * @param failed    Número de elementos rechazados o con error.
+ * @param items     Resultado de cada elemento, en el mismo orden de la solicitud.
+ */
+public record BulkResult(int total, int succeeded, int failed, List<BulkItemResult> items) {
+
+    public static BulkResult of(List<BulkItemResult> items) {
+        int succeeded = (int) items.stream().filter(BulkItemResult::succeeded).count();
+        return new BulkResult(items.size(), succeeded, items.size() - succeeded, items);
+    }
+}
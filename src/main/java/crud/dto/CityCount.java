@@ -0,0 +1,10 @@
+package crud.dto;
+
+/**
+ * Número de personas de una ciudad, resultado del GROUP BY con el que se reconcilian las estadísticas.
+ *
+ * @param city  Ciudad, o null para las personas sin dirección o sin ciudad.
+ * @param count Número de personas.
+ */
+public record CityCount(String city, long count) {
+}
@@ -0,0 +1,18 @@
+package crud.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Cuerpo de las respuestas de error de la API: {@code {"error": "...", "details": "..."}}.
+ * Los errores con un mensaje fijo usan una instancia compartida.
+ *
+ * @param error   Descripción del error.
+ * @param details Detalles adicionales (por ejemplo, el valor rechazado), si los hay.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ErrorResponse(String error, String details) {
+
+    public static ErrorResponse of(String error) {
+        return new ErrorResponse(error, null);
+    }
+}
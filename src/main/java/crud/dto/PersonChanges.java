@@ -0,0 +1,29 @@
+package crud.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import crud.model.Person;
+import crud.model.PersonChange;
+
+import java.util.List;
+
+/**
+ * Respuesta de /api/persons/changes: los cambios posteriores al token {@code since} del cliente.
+ *
+ * @param changes Último cambio de cada persona modificada, en orden de secuencia.
+ * @param next    Token para la siguiente consulta ({@code since=next}).
+ * @param hasMore Si quedan más cambios por leer inmediatamente.
+ */
+public record PersonChanges(List<Entry> changes, long next, boolean hasMore) {
+
+    /**
+     * Cambio de una persona. En UPSERT incluye su estado actual; en DELETE es una lápida, sin persona.
+     *
+     * @param seq    Número de secuencia del cambio.
+     * @param id     ID de la persona.
+     * @param type   Tipo de cambio.
+     * @param person Estado actual de la persona (solo en UPSERT).
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Entry(long seq, Long id, PersonChange.Type type, Person person) {
+    }
+}
@@ -0,0 +1,14 @@
+package crud.dto;
+
+/**
+ * Filtros de la búsqueda de personas (/api/persons/search). Los filtros nulos o vacíos se ignoran
+ * y los demás se combinan con AND. Salvo el teléfono, ninguno distingue mayúsculas.
+ *
+ * @param name  Prefijo del nombre.
+ * @param q     Texto contenido en cualquier parte del nombre.
+ * @param email Correo electrónico exacto.
+ * @param phone Número de teléfono exacto.
+ * @param city  Ciudad exacta de la dirección.
+ */
+public record PersonSearchCriteria(String name, String q, String email, String phone, String city) {
+}
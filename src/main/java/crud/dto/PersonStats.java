@@ -0,0 +1,15 @@
+package crud.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Respuesta de /api/persons/stats.
+ *
+ * @param total        Número total de personas.
+ * @param byCity       Número de personas por ciudad, ordenado por ciudad.
+ * @param withoutCity  Personas sin dirección o sin ciudad.
+ * @param reconciledAt Última vez que los contadores se compararon con la base de datos.
+ */
+public record PersonStats(long total, Map<String, Long> byCity, long withoutCity, Instant reconciledAt) {
+}
@@ -0,0 +1,25 @@
+package crud.dto;
+
+import crud.model.Person;
+
+/**
+ * Versiones de una persona y de su dirección, a partir de las cuales se genera su ETag.
+ * La dirección se modifica sin actualizar la fila de la persona, por lo que el ETag debe incluir ambas.
+ *
+ * @param person  Versión de la persona.
+ * @param address Versión de la dirección, o null si no tiene.
+ */
+public record PersonVersion(long person, Long address) {
+
+    public static PersonVersion of(Person person) {
+        return new PersonVersion(person.getVersion(),
+                person.getAddress() != null ? person.getAddress().getVersion() : null);
+    }
+
+    /**
+     * ETag fuerte de la representación de la persona, por ejemplo {@code "3.1"}.
+     */
+    public String toETag() {
+        return address != null ? "\"" + person + "." + address + "\"" : "\"" + person + "\"";
+    }
+}
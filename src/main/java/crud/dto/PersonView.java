@@ -0,0 +1,27 @@
+package crud.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Proyección de una persona con solo los campos pedidos con {@code fields=}.
+ * Se construye directamente a partir de las columnas consultadas, sin cargar la entidad;
+ * los campos no pedidos (y los nulos) se omiten en JSON.
+ *
+ * @param id           ID de la persona (siempre presente).
+ * @param version      Versión de la persona.
+ * @param name         Nombre.
+ * @param emailAddress Correo electrónico.
+ * @param phoneNumber  Teléfono.
+ * @param address      Dirección, si se pidió alguno de sus campos y la persona tiene dirección.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PersonView(Long id, Long version, String name, String emailAddress, String phoneNumber,
+                         AddressView address) {
+
+    /**
+     * Campos pedidos de la dirección de la persona.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record AddressView(Long id, Long version, String street, String city) {
+    }
+}
@@ -0,0 +1,37 @@
+package crud.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Estado de una escritura aceptada de forma asíncrona ({@code Prefer: respond-async}).
+ *
+ * @param ticket Identificador de la escritura, parte de su URL de estado.
+ * @param state  PENDING mientras está en la cola, DONE si se persistió y FAILED si no.
+ * @param status Código HTTP equivalente al resultado (201, 200, 404, 500...), una vez procesada.
+ * @param id     ID de la persona creada o actualizada, una vez procesada.
+ * @param errors Errores de la escritura, si los hubo.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record WriteStatus(UUID ticket, State state, Integer status, Long id, Map<String, String> errors) {
+
+    public enum State {
+        PENDING,
+        DONE,
+        FAILED
+    }
+
+    public static WriteStatus pending(UUID ticket) {
+        return new WriteStatus(ticket, State.PENDING, null, null, null);
+    }
+
+    /**
+     * Estado final a partir del resultado del elemento en la operación masiva que lo persistió.
+     */
+    public static WriteStatus of(UUID ticket, BulkItemResult result) {
+        return new WriteStatus(ticket, result.succeeded() ? State.DONE : State.FAILED,
+                result.status(), result.id(), result.errors());
+    }
+}
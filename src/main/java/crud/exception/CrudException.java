@@ -0,0 +1,17 @@
+package crud.exception;
+
+/**
+ * Base de las excepciones de dominio de la aplicación.
+ * <p>
+ * Representan errores esperados del cliente (una persona que no existe, un cursor alterado, la cola llena),
+ * que el manejador convierte en una respuesta 4xx/5xx sin registrarlos. Por eso no capturan la traza de
+ * pila, que es lo más costoso de crear una excepción y no aporta nada en estos casos, ni admiten
+ * excepciones suprimidas. Sin traza ni causa modificable son inmutables, y las que tienen un mensaje fijo
+ * pueden crearse una sola vez y reutilizarse.
+ */
+public abstract class CrudException extends RuntimeException {
+
+    protected CrudException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,45 @@
+package crud.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.util.Locale;
+
+/**
+ * Excepción lanzada cuando ya existe otra persona con el mismo correo electrónico.
+ * Tiene un mensaje fijo, así que se usa siempre la misma instancia ({@link #INSTANCE}).
+ * <p>
+ * La comprobación previa no ve las altas concurrentes ni las de otras instancias; esas las rechaza el índice
+ * único {@link #CONSTRAINT}, y {@link #isViolation} distingue su violación de la de otras restricciones.
+ */
+public final class DuplicateEmailException extends CrudException {
+
+    public static final String MESSAGE = "Ya existe una persona con ese correo electrónico";
+
+    public static final DuplicateEmailException INSTANCE = new DuplicateEmailException();
+
+    /**
+     * Índice único sobre person.email_search.
+     */
+    public static final String CONSTRAINT = "uq_person_email_search";
+
+    private DuplicateEmailException() {
+        super(MESSAGE);
+    }
+
+    /**
+     * Indica si la excepción, o alguna de sus causas, es la violación del índice único del correo.
+     *
+     * @param ex Excepción lanzada al escribir (de Hibernate o ya traducida por Spring).
+     * @return true si la restricción violada es {@link #CONSTRAINT}.
+     */
+    public static boolean isViolation(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                // El nombre que extrae el dialecto puede venir en mayúsculas o cualificado con el esquema
+                String name = violation.getConstraintName();
+                return name != null && name.toLowerCase(Locale.ROOT).contains(CONSTRAINT);
+            }
+        }
+        return false;
+    }
+}
@@ -1,22 +1,43 @@
 package crud.exception;
 
+import crud.dto.ErrorResponse;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
-
-import java.util.HashMap;
-import java.util.Map;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 /**
  * Clase que maneja excepciones globales en la aplicación.
  // Utiliza @RestControllerAdvice para interceptar excepciones lanzadas en los controladores
  * y proporcionar respuestas personalizadas para diferentes tipos de errores.
+ * Los cuerpos de error son {@link ErrorResponse}; los de mensaje fijo se crean una sola vez.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final ErrorResponse PERSON_NOT_FOUND = ErrorResponse.of(PersonNotFoundException.MESSAGE);
+    private static final ErrorResponse CONCURRENT_MODIFICATION = ErrorResponse.of("La persona fue modificada por otra solicitud");
+    private static final ErrorResponse DUPLICATE_EMAIL = ErrorResponse.of(DuplicateEmailException.MESSAGE);
+    private static final String INVALID_BODY = "El cuerpo de la solicitud no es válido";
+    private static final String INTERNAL_ERROR = "Ocurrió un error interno";
+
+    /**
+     * Maneja las solicitudes sobre una persona que no existe.
+     * @param ex La excepción PersonNotFoundException capturada (sin traza de pila).
+     * @return Un ResponseEntity con el mensaje de error y el estado HTTP 404 (NOT_FOUND).
+     */
+    @ExceptionHandler(PersonNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handlePersonNotFoundException(PersonNotFoundException ex) {
+        return new ResponseEntity<>(PERSON_NOT_FOUND, HttpStatus.NOT_FOUND);
+    }
+
     /**
      // Maneja excepciones de tipo EntityNotFoundException.
      // Esta excepción ocurre cuando se intenta acceder a una entidad que no existe en la base de datos.
@@ -24,10 +45,124 @@ public class GlobalExceptionHandler {
      // @return Un ResponseEntity con el mensaje de error y el estado HTTP 404 (NOT_FOUND).
      */
     @ExceptionHandler(EntityNotFoundException.class)
-    public ResponseEntity<Map<String, String>> handleEntityNotFoundException(EntityNotFoundException ex) {
-        Map<String, String> errorResponse = new HashMap<>();
-        errorResponse.put("error", ex.getMessage());
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    public ResponseEntity<ErrorResponse> handleEntityNotFoundException(EntityNotFoundException ex) {
+        return new ResponseEntity<>(ErrorResponse.of(ex.getMessage()), HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Maneja cursores de paginación inválidos o alterados por el cliente.
+     * @param ex La excepción InvalidCursorException capturada.
+     * @return Un ResponseEntity con el mensaje de error y el estado HTTP 400 (BAD_REQUEST).
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursorException(InvalidCursorException ex) {
+        return new ResponseEntity<>(ErrorResponse.of(ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Maneja tamaños de página no positivos en los endpoints paginados.
+     * @param ex La excepción InvalidPageSizeException capturada.
+     * @return Un ResponseEntity con el mensaje de error y el estado HTTP 400 (BAD_REQUEST).
+     */
+    @ExceptionHandler(InvalidPageSizeException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidPageSizeException(InvalidPageSizeException ex) {
+        return new ResponseEntity<>(ErrorResponse.of(ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Maneja búsquedas ordenadas por un campo no permitido.
+     * @param ex La excepción InvalidSortException capturada.
+     * @return Un ResponseEntity con el mensaje de error y el estado HTTP 400 (BAD_REQUEST).
+     */
+    @ExceptionHandler(InvalidSortException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidSortException(InvalidSortException ex) {
+        return new ResponseEntity<>(ErrorResponse.of(ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Maneja campos desconocidos en el parámetro fields.
+     * @param ex La excepción InvalidFieldException capturada.
+     * @return Un ResponseEntity con el mensaje de error y el estado HTTP 400 (BAD_REQUEST).
+     */
+    @ExceptionHandler(InvalidFieldException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidFieldException(InvalidFieldException ex) {
+        return new ResponseEntity<>(ErrorResponse.of(ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Maneja escrituras sobre una persona que cambió desde que se leyó (control de concurrencia optimista).
+     * @param ex La excepción OptimisticLockingFailureException capturada.
+     * @param request La solicitud, para saber si el cliente indicó la versión esperada.
+     * @return Un ResponseEntity con el mensaje de error y el estado HTTP 412 (PRECONDITION_FAILED) si la
+     *         solicitud incluía If-Match, o 409 (CONFLICT) si la modificación concurrente ocurrió sin él.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex,
+                                                                                      WebRequest request) {
+        HttpStatus status = request.getHeader(HttpHeaders.IF_MATCH) != null
+                ? HttpStatus.PRECONDITION_FAILED
+                : HttpStatus.CONFLICT;
+        return new ResponseEntity<>(CONCURRENT_MODIFICATION, status);
+    }
+
+    /**
+     * Maneja altas o modificaciones con un correo que ya pertenece a otra persona.
+     * @param ex La excepción DuplicateEmailException capturada (sin traza de pila).
+     * @return Un ResponseEntity con el mensaje de error y el estado HTTP 409 (CONFLICT).
+     */
+    @ExceptionHandler(DuplicateEmailException.class)
+    public ResponseEntity<ErrorResponse> handleDuplicateEmailException(DuplicateEmailException ex) {
+        return new ResponseEntity<>(DUPLICATE_EMAIL, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Maneja escrituras rechazadas por una restricción de la base de datos. Solo la del índice único del correo
+     * (otra solicitud registró el mismo correo al mismo tiempo) es un conflicto; el resto son errores internos.
+     * @param ex La excepción DataIntegrityViolationException capturada.
+     * @return Un ResponseEntity con el mensaje de error y el estado HTTP 409 (CONFLICT) si se violó el índice
+     *         del correo, o 500 (INTERNAL_SERVER_ERROR) en otro caso.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        if (DuplicateEmailException.isViolation(ex)) {
+            return new ResponseEntity<>(DUPLICATE_EMAIL, HttpStatus.CONFLICT);
+        }
+        return handleGenericException(ex);
+    }
+
+    /**
+     * Maneja cuerpos de solicitud que no pueden leerse (JSON o NDJSON mal formado).
+     * @param ex La excepción HttpMessageNotReadableException capturada.
+     * @return Un ResponseEntity con el mensaje de error y el estado HTTP 400 (BAD_REQUEST).
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleMessageNotReadableException(HttpMessageNotReadableException ex) {
+        return new ResponseEntity<>(new ErrorResponse(INVALID_BODY, ex.getMostSpecificCause().getMessage()),
+                HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Maneja parámetros de la solicitud que no pueden convertirse al tipo esperado
+     * (por ejemplo, un formato de exportación desconocido).
+     * @param ex La excepción MethodArgumentTypeMismatchException capturada.
+     * @return Un ResponseEntity con el mensaje de error y el estado HTTP 400 (BAD_REQUEST).
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleTypeMismatchException(MethodArgumentTypeMismatchException ex) {
+        return new ResponseEntity<>(new ErrorResponse("Valor inválido para el parámetro '" + ex.getName() + "'",
+                String.valueOf(ex.getValue())), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Maneja escrituras asíncronas rechazadas porque la cola de escritura diferida está llena.
+     * @param ex La excepción WriteQueueFullException capturada.
+     * @return Un ResponseEntity con el mensaje de error, la cabecera Retry-After y el estado HTTP 503 (SERVICE_UNAVAILABLE).
+     */
+    @ExceptionHandler(WriteQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleWriteQueueFullException(WriteQueueFullException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ErrorResponse.of(ex.getMessage()));
     }
 
     /**
@@ -37,10 +172,8 @@ public class GlobalExceptionHandler {
      // @return Un ResponseEntity con un mensaje genérico de error y el estado HTTP 500 (INTERNAL_SERVER_ERROR).
      */
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, String>> handleGenericException(Exception ex) {
-        Map<String, String> errorResponse = new HashMap<>();
-        errorResponse.put("error", "Ocurrió un error interno");
-        errorResponse.put("details", ex.getMessage()); // Opcional: detalles adicionales del error
-        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
+        // Opcional: detalles adicionales del error
+        return new ResponseEntity<>(new ErrorResponse(INTERNAL_ERROR, ex.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package crud.exception;
+
+/**
+ * Excepción lanzada cuando el cursor recibido en la paginación por cursor
+ * no puede decodificarse (fue alterado o no fue emitido por esta API).
+ */
+public class InvalidCursorException extends CrudException {
+
+    public InvalidCursorException(String cursor) {
+        super("Cursor inválido: " + cursor);
+    }
+}
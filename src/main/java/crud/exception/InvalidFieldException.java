@@ -0,0 +1,11 @@
+package crud.exception;
+
+/**
+ * Excepción lanzada cuando el parámetro {@code fields} pide un campo que no existe.
+ */
+public class InvalidFieldException extends CrudException {
+
+    public InvalidFieldException(String field) {
+        super("Campo inválido: " + field);
+    }
+}
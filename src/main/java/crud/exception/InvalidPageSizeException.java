@@ -0,0 +1,11 @@
+package crud.exception;
+
+/**
+ * Excepción lanzada cuando el tamaño de página solicitado no es positivo.
+ */
+public class InvalidPageSizeException extends CrudException {
+
+    public InvalidPageSizeException(int size) {
+        super("Tamaño de página inválido: " + size + " (debe ser mayor que 0)");
+    }
+}
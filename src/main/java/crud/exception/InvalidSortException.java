@@ -0,0 +1,11 @@
+package crud.exception;
+
+/**
+ * Excepción lanzada cuando se pide ordenar una búsqueda por un campo no permitido.
+ */
+public class InvalidSortException extends CrudException {
+
+    public InvalidSortException(String field) {
+        super("Campo de orden inválido: " + field);
+    }
+}
@@ -0,0 +1,16 @@
+package crud.exception;
+
+/**
+ * Excepción lanzada cuando la persona indicada no existe (por ejemplo, al eliminar o con If-Match).
+ * Tiene un mensaje fijo, así que se usa siempre la misma instancia ({@link #INSTANCE}).
+ */
+public final class PersonNotFoundException extends CrudException {
+
+    public static final String MESSAGE = "Persona no encontrada";
+
+    public static final PersonNotFoundException INSTANCE = new PersonNotFoundException();
+
+    private PersonNotFoundException() {
+        super(MESSAGE);
+    }
+}
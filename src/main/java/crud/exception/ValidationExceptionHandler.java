@@ -1,5 +1,8 @@
 package crud.exception;
 
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -13,8 +16,11 @@ import java.util.Map;
  * Clase que maneja excepciones globales relacionadas con validaciones en el controlador.
  * Utiliza la anotación @RestControllerAdvice para interceptar excepciones lanzadas
  * por los controladores y proporcionar respuestas personalizadas.
+ * Tiene precedencia sobre GlobalExceptionHandler, cuyo manejador genérico de Exception
+ * respondería 500 a los errores de validación.
  */
 @RestControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class ValidationExceptionHandler {
 
     /**
@@ -36,4 +42,19 @@ public class ValidationExceptionHandler {
         // Devuelve el mapa de errores con el estado HTTP 400
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
+
+    /**
+     * Maneja las validaciones que fallan fuera del enlace de datos del controlador,
+     * por ejemplo sobre la persona resultante de aplicar un merge patch.
+     // @param ex La excepción ConstraintViolationException capturada.
+     // @return Un ResponseEntity con el mapa de errores (campo y mensaje) y el estado HTTP 400 (BAD_REQUEST).
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<Map<String, String>> handleConstraintViolationException(ConstraintViolationException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getConstraintViolations().forEach(violation ->
+                errors.put(violation.getPropertyPath().toString(), violation.getMessage())
+        );
+        return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+    }
 }
@@ -0,0 +1,22 @@
+package crud.exception;
+
+/**
+ * Excepción lanzada cuando la cola de escrituras asíncronas está llena (o la aplicación se está deteniendo)
+ * y no puede aceptar más solicitudes.
+ */
+public class WriteQueueFullException extends CrudException {
+
+    private final long retryAfterSeconds;
+
+    public WriteQueueFullException(long retryAfterSeconds) {
+        super("La cola de escrituras está llena; reintente más tarde");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Segundos que el cliente debería esperar antes de reintentar (cabecera Retry-After).
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,61 @@
+package crud.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Registro de acceso muestreado para la API.
+ * Reemplaza las líneas INFO que el controlador y el servicio escribían en cada llamada:
+ * se registra una fracción de las solicitudes ({@code crud.access-log.sample-rate}), y siempre
+ * las que terminan con error 5xx o superan {@code crud.access-log.slow-threshold-ms}.
+ */
+@Component
+public class SampledAccessLogFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger("crud.access");
+
+    private final double sampleRate;
+    private final long slowThresholdMs;
+
+    public SampledAccessLogFilter(@Value("${crud.access-log.sample-rate:0.01}") double sampleRate,
+                                  @Value("${crud.access-log.slow-threshold-ms:500}") long slowThresholdMs) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!logger.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            int status = response.getStatus();
+            if (status >= 500 || elapsedMs >= slowThresholdMs) {
+                logger.warn("{} {} -> {} ({} ms)", request.getMethod(), request.getRequestURI(), status, elapsedMs);
+            } else if (ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                logger.info("{} {} -> {} ({} ms)", request.getMethod(), request.getRequestURI(), status, elapsedMs);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package crud.metrics;
+
+import jakarta.servlet.ServletRequest;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cuenta las sentencias SQL que Hibernate prepara para la solicitud HTTP en curso.
+ * Se registra como StatementInspector de Hibernate y no modifica las sentencias.
+ * <p>
+ * El contador es un atributo de la solicitud ({@link #start}) y no del hilo: Spring MVC asocia la solicitud
+ * también al hilo que ejecuta el procesamiento asíncrono (un {@code StreamingResponseBody} como la
+ * exportación, o un {@code Callable}), así que sus sentencias se suman a la misma solicitud.
+ * Las sentencias fuera de una solicitud (tareas programadas, la cola de escritura diferida) no se cuentan.
+ * {@link SqlStatementsPerRequestFilter} crea el contador y registra el total al terminar la solicitud.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final String ATTRIBUTE = SqlStatementCounter.class.getName() + ".COUNT";
+
+    @Override
+    public String inspect(String sql) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null && request.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof AtomicInteger count) {
+            count.incrementAndGet();
+        }
+        return sql;
+    }
+
+    /**
+     * Asocia un contador nuevo a la solicitud.
+     *
+     * @param request Solicitud cuyas sentencias se van a contar.
+     * @return El contador, para leer el total al terminar la solicitud.
+     */
+    public static AtomicInteger start(ServletRequest request) {
+        AtomicInteger count = new AtomicInteger();
+        request.setAttribute(ATTRIBUTE, count);
+        return count;
+    }
+}
@@ -0,0 +1,85 @@
+package crud.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registra cuántas sentencias SQL ejecuta cada solicitud a la API, por endpoint,
+ * en la métrica {@code http.server.requests.sql.statements} (con histograma para percentiles).
+ * Permite ver los viajes a la base de datos por solicitud sin activar {@code show-sql}. En las solicitudes
+ * asíncronas (la exportación en streaming) el total se registra al completarse la respuesta.
+ */
+@Component
+public class SqlStatementsPerRequestFilter extends OncePerRequestFilter {
+
+    public static final String METRIC = "http.server.requests.sql.statements";
+
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementsPerRequestFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AtomicInteger count = SqlStatementCounter.start(request);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Exportación en streaming u otro procesamiento asíncrono: se registra cuando termina
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    // El contenedor llama a onComplete también tras un timeout o un error
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, count);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(request, count);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, AtomicInteger count) {
+        // Se usa el patrón del endpoint (p. ej. /api/persons/{id}) para no crear una serie por ID
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(METRIC)
+                .description("Sentencias SQL ejecutadas por solicitud")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(count.get());
+    }
+}
@@ -1,27 +1,50 @@
 package crud.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.Objects;
 
 /**
  * Clase que representa la entidad Address.
  * Esta entidad está mapeada a una tabla en la base de datos mediante JPA.
+ * Se almacena en la caché de segundo nivel de Hibernate (READ_WRITE).
+ * Los UPDATE solo incluyen las columnas modificadas (@DynamicUpdate).
  * Incluye validaciones para los campos como restricciones de longitud y valores obligatorios.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Address {
 
     /**
      * Identificador único para cada dirección (clave primaria).
-     * Se genera automáticamente utilizando una estrategia de identidad.
+     * Se genera a partir de la secuencia address_seq, reservando bloques de 50 valores (optimizador pooled).
+     * A diferencia de IDENTITY, esto permite que Hibernate agrupe los INSERT con JDBC batching.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "address_seq")
+    @SequenceGenerator(name = "address_seq", sequenceName = "address_seq", allocationSize = 50)
     private Long id;
 
+    /**
+     * Versión para el control de concurrencia optimista: Hibernate la incrementa en cada UPDATE
+     * y falla si la fila cambió desde que se leyó. También forma parte del ETag de la persona.
+     * Es de solo lectura en JSON: los clientes indican la versión esperada con If-Match.
+     */
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     /**
      * Calle de la dirección.
      * - No puede estar vacía.
@@ -40,6 +63,14 @@ public class Address {
     @Size(max = 50, message = "La ciudad no puede tener más de 50 caracteres")
     private String city;
 
+    /**
+     * Ciudad en minúsculas, calculada por la base de datos (columna generada) e indexada
+     * para las búsquedas por ciudad. Solo se usa en consultas.
+     */
+    @JsonIgnore
+    @Column(name = "city_search", insertable = false, updatable = false)
+    private String citySearch;
+
     // Getters, setters y métodos adicionales
     public Long getId() {
         return id;
@@ -49,6 +80,14 @@ public class Address {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getStreet() {
         return street;
     }
@@ -1,30 +1,51 @@
 package crud.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.Objects;
 
 /**
  * Clase que representa la entidad Person.
  * Esta entidad está mapeada a una tabla en la base de datos mediante JPA.
+ * Se almacena en la caché de segundo nivel de Hibernate (READ_WRITE).
+ * Los UPDATE solo incluyen las columnas modificadas (@DynamicUpdate).
  * Incluye validaciones para los campos y una relación de uno a uno con la entidad Address.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 public class Person {
 
     /**
      * Identificador único para cada persona (clave primaria).
-     * Se genera automáticamente utilizando una estrategia de identidad.
+     * Se genera a partir de la secuencia person_seq, reservando bloques de 50 valores (optimizador pooled).
+     * A diferencia de IDENTITY, esto permite que Hibernate agrupe los INSERT con JDBC batching.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "person_seq")
+    @SequenceGenerator(name = "person_seq", sequenceName = "person_seq", allocationSize = 50)
     private Long id;
 
+    /**
+     * Versión para el control de concurrencia optimista: Hibernate la incrementa en cada UPDATE
+     * y falla si la fila cambió desde que se leyó. También forma el ETag de la persona.
+     * Es de solo lectura en JSON: los clientes indican la versión esperada con If-Match.
+     */
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     /**
      * Nombre de la persona.
      * - No puede estar vacío.
@@ -50,13 +71,30 @@ public class Person {
     @NotBlank(message = "El correo electrónico no puede estar vacío")
     private String emailAddress;
 
+    /**
+     * Nombre y correo en minúsculas, calculados por la base de datos (columnas generadas).
+     * Están indexados para las búsquedas sin distinción de mayúsculas de /api/persons/search
+     * y solo se usan en consultas: no se escriben, no se exponen en JSON y no se refrescan
+     * en memoria tras guardar la entidad.
+     */
+    @JsonIgnore
+    @Column(name = "name_search", insertable = false, updatable = false)
+    private String nameSearch;
+
+    @JsonIgnore
+    @Column(name = "email_search", insertable = false, updatable = false)
+    private String emailSearch;
+
     /**
      * Dirección asociada a la persona.
      * - Relación uno a uno con la entidad Address.
      * - Se utiliza CascadeType.ALL para que las operaciones en Person afecten también a Address.
      * - La validación adicional de Address se realiza mediante la anotación @Valid.
+     * - Se carga de forma perezosa (LAZY): las consultas de lectura del repositorio la traen
+     *   en el mismo SELECT mediante @EntityGraph o JOIN FETCH, evitando el problema N+1.
+     * - Si se reemplaza o se quita, la dirección anterior se elimina (orphanRemoval) en lugar de quedar huérfana.
      */
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     @JoinColumn(name = "address_id", referencedColumnName = "id")
     @Valid
     private Address address;
@@ -74,6 +112,14 @@ public class Person {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
@@ -0,0 +1,70 @@
+package crud.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Entrada del registro de cambios de personas (/api/persons/changes).
+ * Se inserta en la misma transacción que la escritura que la origina, de modo que el registro
+ * y los datos no pueden divergir. El número de secuencia crece con cada cambio y es el token
+ * de sincronización que usan los clientes ({@code since}).
+ */
+@Entity
+@Table(name = "person_change")
+public class PersonChange {
+
+    /**
+     * Tipo de cambio: alta o modificación (UPSERT) y eliminación (DELETE, la lápida de la persona).
+     */
+    public enum Type {
+        UPSERT,
+        DELETE
+    }
+
+    /**
+     * Número de secuencia del cambio, de la secuencia person_change_seq. A diferencia de los IDs no se reservan
+     * bloques: un nextval por cambio, para que los números sigan el orden en que se registran los cambios
+     * aunque escriban varias instancias.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "person_change_seq")
+    @SequenceGenerator(name = "person_change_seq", sequenceName = "person_change_seq", allocationSize = 1)
+    private Long seq;
+
+    @Column(name = "person_id", nullable = false)
+    private Long personId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 10)
+    private Type type;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    // Constructor sin argumentos (requerido por JPA)
+    protected PersonChange() {
+    }
+
+    public PersonChange(Long personId, Type type, Instant changedAt) {
+        this.personId = personId;
+        this.type = type;
+        this.changedAt = changedAt;
+    }
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public Long getPersonId() {
+        return personId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+}
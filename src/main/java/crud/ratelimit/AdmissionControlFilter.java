@@ -0,0 +1,210 @@
+package crud.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Control de admisión de la API, antes de que la solicitud llegue a los controladores y a JPA.
+ * <ul>
+ *     <li>Cada cliente (API key de {@code crud.rate-limit.api-keys}, o su IP) tiene un {@link TokenBucket} por regla de endpoint
+ *     ({@code crud.rate-limit.endpoints}, o {@code crud.rate-limit.defaults}); sin tokens se responde
+ *     {@code crud.rate-limit.rejected-status} (429) con Retry-After hasta el siguiente token.</li>
+ *     <li>Un semáforo global limita las solicitudes en curso ({@code crud.rate-limit.max-concurrent}), de modo
+ *     que un pico no agote el pool de conexiones para todos: la solicitud espera un hueco como mucho
+ *     {@code crud.rate-limit.max-concurrent-wait} y, si no lo obtiene, se rechaza igual.</li>
+ * </ul>
+ * Las solicitudes admitidas y rechazadas se cuentan en {@code crud.admission.requests} por regla y motivo.
+ * Las exportaciones en streaming liberan su hueco al terminar el controlador, antes de escribir la respuesta.
+ * <p>
+ * Una API key desconocida se trata como si no se hubiera enviado: si no, un cliente podría enviar una distinta
+ * en cada solicitud y obtener siempre un bucket nuevo. El filtro no limita nada hasta que la aplicación está
+ * lista (ApplicationReadyEvent), de modo que el calentamiento (StartupWarmup), que envía cientos de solicitudes
+ * desde la propia instancia antes de ese momento, no sea rechazado.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "crud.rate-limit.enabled", havingValue = "true")
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String DEFAULT_RULE = "default";
+
+    private final RateLimitProperties properties;
+    private final List<Rule> rules = new ArrayList<>();
+    private final Rule defaultRule;
+    private final Cache<String, TokenBucket> buckets;
+    private final Semaphore inFlight;
+    private final long maxConcurrentWaitNanos;
+    private final Counter overloaded;
+
+    private volatile boolean engaged;
+
+    public AdmissionControlFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (RateLimitProperties.Endpoint endpoint : properties.endpoints()) {
+            rules.add(new Rule(endpoint.name(),
+                    PathPatternParser.defaultInstance.parse(endpoint.path()),
+                    endpoint.methods().stream().map(method -> method.toUpperCase(Locale.ROOT)).collect(Collectors.toSet()),
+                    endpoint.capacity(), endpoint.refillPerSecond(), meterRegistry));
+        }
+        this.defaultRule = new Rule(DEFAULT_RULE, null, Set.of(),
+                properties.defaults().capacity(), properties.defaults().refillPerSecond(), meterRegistry);
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(properties.clientIdleTimeout())
+                .maximumSize(properties.maxClients())
+                .build();
+        this.inFlight = new Semaphore(properties.maxConcurrent());
+        this.maxConcurrentWaitNanos = properties.maxConcurrentWait().toNanos();
+        this.overloaded = counter(meterRegistry, "all", "rejected", "concurrency");
+        Gauge.builder("crud.admission.in.flight", inFlight,
+                        semaphore -> properties.maxConcurrent() - semaphore.availablePermits())
+                .description("Solicitudes a la API en curso")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Empieza a limitar las solicitudes, una vez terminado el calentamiento.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void engage() {
+        engaged = true;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !engaged || !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Rule rule = match(request);
+        String bucketKey = rule.name + '|' + clientKey(request);
+        long waitNanos = buckets.get(bucketKey, key -> rule.newBucket()).tryAcquire(System.nanoTime());
+        if (waitNanos > 0) {
+            rule.rateLimited.increment();
+            reject(response, TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1,
+                    "Demasiadas solicitudes; reintente más tarde");
+            return;
+        }
+
+        if (!acquireSlot()) {
+            overloaded.increment();
+            reject(response, Math.max(1, properties.overloadRetryAfter().toSeconds()),
+                    "El servidor está saturado; reintente más tarde");
+            return;
+        }
+        rule.admitted.increment();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private boolean acquireSlot() {
+        if (inFlight.tryAcquire()) {
+            return true;
+        }
+        try {
+            return inFlight.tryAcquire(maxConcurrentWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Rule match(HttpServletRequest request) {
+        if (rules.isEmpty()) {
+            return defaultRule;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Rule rule : rules) {
+            if ((rule.methods.isEmpty() || rule.methods.contains(request.getMethod())) && rule.pattern.matches(path)) {
+                return rule;
+            }
+        }
+        return defaultRule;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(properties.apiKeyHeader());
+        return apiKey != null && properties.apiKeys().contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(properties.rejectedStatus());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"error\": \"" + message + "\"}");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String rule, String outcome, String reason) {
+        return Counter.builder("crud.admission.requests")
+                .description("Solicitudes a la API admitidas y rechazadas por el control de admisión")
+                .tag("rule", rule)
+                .tag("outcome", outcome)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Regla de límite por cliente, con sus contadores ya registrados para no buscarlos en cada solicitud.
+     */
+    private static final class Rule {
+
+        private final String name;
+        private final PathPattern pattern;
+        private final Set<String> methods;
+        private final long capacity;
+        private final double refillPerSecond;
+        private final Counter admitted;
+        private final Counter rateLimited;
+
+        private Rule(String name, PathPattern pattern, Set<String> methods, long capacity, double refillPerSecond,
+                     MeterRegistry meterRegistry) {
+            this.name = name;
+            this.pattern = pattern;
+            this.methods = methods;
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+            this.admitted = counter(meterRegistry, name, "admitted", "none");
+            this.rateLimited = counter(meterRegistry, name, "rejected", "rate_limit");
+        }
+
+        private TokenBucket newBucket() {
+            return new TokenBucket(capacity, refillPerSecond, System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package crud.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Configuración del control de admisión de la API ({@code crud.rate-limit.*}).
+ *
+ * @param apiKeyHeader           Cabecera con la API key que identifica al cliente.
+ * @param apiKeys                API keys válidas. Solo estas tienen su propio bucket; las solicitudes sin
+ *                               API key o con una desconocida se limitan por IP.
+ * @param defaults               Límite por cliente de los endpoints sin regla propia.
+ * @param endpoints              Límites por endpoint; se aplica la primera regla que coincide.
+ * @param maxConcurrent          Solicitudes a la API en curso como máximo, entre todos los clientes.
+ * @param maxConcurrentWait      Tiempo que una solicitud espera un hueco antes de rechazarse.
+ * @param rejectedStatus         Código HTTP de las solicitudes rechazadas.
+ * @param overloadRetryAfter     Retry-After de las rechazadas por concurrencia (las limitadas por cliente
+ *                               indican cuándo tendrán un token).
+ * @param clientIdleTimeout      Tiempo sin solicitudes tras el que se descarta el bucket de un cliente.
+ * @param maxClients             Buckets guardados como máximo.
+ */
+@ConfigurationProperties("crud.rate-limit")
+public record RateLimitProperties(@DefaultValue("X-API-Key") String apiKeyHeader,
+                                  @DefaultValue Set<String> apiKeys,
+                                  @DefaultValue Limit defaults,
+                                  @DefaultValue List<Endpoint> endpoints,
+                                  @DefaultValue("50") int maxConcurrent,
+                                  @DefaultValue("200ms") Duration maxConcurrentWait,
+                                  @DefaultValue("429") int rejectedStatus,
+                                  @DefaultValue("1s") Duration overloadRetryAfter,
+                                  @DefaultValue("10m") Duration clientIdleTimeout,
+                                  @DefaultValue("100000") long maxClients) {
+
+    /**
+     * @param capacity        Solicitudes admitidas en ráfaga.
+     * @param refillPerSecond Solicitudes por segundo sostenidas.
+     */
+    public record Limit(@DefaultValue("100") long capacity,
+                        @DefaultValue("50") double refillPerSecond) {
+    }
+
+    /**
+     * @param name            Nombre de la regla, usado en las métricas.
+     * @param path            Patrón de la ruta (por ejemplo {@code /api/persons/bulk/**}).
+     * @param methods         Métodos HTTP a los que se aplica; vacío para todos.
+     * @param capacity        Solicitudes admitidas en ráfaga por cliente.
+     * @param refillPerSecond Solicitudes por segundo sostenidas por cliente.
+     */
+    public record Endpoint(String name,
+                           String path,
+                           @DefaultValue List<String> methods,
+                           long capacity,
+                           double refillPerSecond) {
+    }
+}
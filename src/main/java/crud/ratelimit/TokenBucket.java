@@ -0,0 +1,47 @@
+package crud.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sin bloqueos: admite ráfagas de hasta {@code capacity} solicitudes y recupera
+ * {@code refillPerSecond} tokens por segundo.
+ * <p>
+ * En lugar de guardar los tokens disponibles y la hora de la última recarga (dos valores que habría que
+ * actualizar juntos), guarda un único instante teórico en el que el bucket estaría vacío, como en GCRA.
+ * Consumir un token lo adelanta un intervalo con un compareAndSet; si el instante queda más de
+ * {@code capacity} intervalos por delante del reloj, no quedan tokens. Así el camino habitual es una
+ * lectura y un CAS, sin locks, aunque muchos hilos compartan el mismo bucket.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong emptyAt;
+
+    TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+        this.intervalNanos = Math.max(1, Math.round(1_000_000_000d / refillPerSecond));
+        this.burstNanos = intervalNanos * capacity;
+        this.emptyAt = new AtomicLong(nowNanos - burstNanos); // lleno al crearse
+    }
+
+    /**
+     * Intenta consumir un token.
+     *
+     * @param nowNanos Instante actual según {@link System#nanoTime()}.
+     * @return 0 si se consumió el token; si no, los nanosegundos hasta que haya uno disponible.
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = emptyAt.get();
+            // Un bucket inactivo no acumula más de capacity tokens
+            long next = Math.max(current, nowNanos - burstNanos) + intervalNanos;
+            long waitNanos = next - nowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (emptyAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package crud.repository;
+
+import crud.model.PersonChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositorio del registro de cambios de personas.
+ */
+@Repository
+public interface PersonChangeRepository extends JpaRepository<PersonChange, Long> {
+
+    /**
+     * Cambios con número de secuencia en {@code (since, upTo]}, en orden. Se apoya en la clave primaria.
+     *
+     * @param since Último número de secuencia que ya tiene el cliente.
+     * @param upTo  Último número de secuencia que puede entregarse (ver PersonChangeService).
+     * @param limit Número máximo de cambios.
+     * @return Los cambios, ordenados por número de secuencia.
+     */
+    @Query("select c from PersonChange c where c.seq > :since and c.seq <= :upTo order by c.seq")
+    List<PersonChange> findChanges(@Param("since") long since, @Param("upTo") long upTo, Limit limit);
+}
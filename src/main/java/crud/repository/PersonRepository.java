@@ -1,16 +1,163 @@
 package crud.repository;
 
+import crud.dto.CityCount;
+import crud.dto.PersonVersion;
 import crud.model.Person;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.AvailableHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.AvailableHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.AvailableHints.HINT_READ_ONLY;
 
 /**
  * Repositorio para la entidad Person.
  * Esta interfaz extiende JpaRepository, proporcionando métodos básicos para
- * realizar operaciones CRUD (Create, Read, Update, Delete) sobre la entidad Person.
+ * realizar operaciones CRUD (Create, Read, Update, Delete) sobre la entidad Person;
+ * JpaSpecificationExecutor, para las búsquedas con filtros (ver {@link PersonSpecifications}),
+ * y PersonViewRepository, para las proyecciones con solo algunos campos ({@code fields=}).
  */
 @Repository
-public interface PersonRepository extends JpaRepository<Person, Long> {
-    // No es necesario declarar métodos aquí, ya que JpaRepository proporciona
-    // todas las operaciones básicas automáticamente.
-}
\ No newline at end of file
+public interface PersonRepository extends JpaRepository<Person, Long>, JpaSpecificationExecutor<Person>,
+        PersonViewRepository {
+
+    // Los métodos de lectura heredados se redeclaran con @EntityGraph para que la dirección
+    // (LAZY) se obtenga con un LEFT JOIN en la misma consulta, en lugar de un SELECT por persona.
+    // Los listados cargan las entidades como solo lectura: Hibernate no guarda la copia para el
+    // dirty checking, ya que ningún camino de escritura los usa.
+
+    @Override
+    @EntityGraph(attributePaths = "address")
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    List<Person> findAll();
+
+    /**
+     * Página de personas con su dirección. El count(*) de la paginación se genera aparte
+     * y no incluye el join, ya que el grafo de entidad solo se aplica a la consulta de contenido.
+     * Ambas consultas usan la caché de consultas de Hibernate, que se invalida con cada escritura.
+     */
+    @Override
+    @EntityGraph(attributePaths = "address")
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Page<Person> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "address")
+    Optional<Person> findById(Long id);
+
+    /**
+     * Página de personas que cumplen la especificación, con su dirección.
+     * Los filtros se traducen a SQL; el count(*) de la paginación aplica los mismos filtros sin el grafo.
+     */
+    @Override
+    @EntityGraph(attributePaths = "address")
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    Page<Person> findAll(Specification<Person> spec, Pageable pageable);
+
+    /**
+     * Obtiene solo las versiones de una persona y de su dirección, con las que se calcula su ETag.
+     * Permite responder peticiones condicionales (If-None-Match, If-Match) sin cargar ni serializar la entidad.
+     *
+     * @param id ID de la persona.
+     * @return Las versiones, o vacío si la persona no existe.
+     */
+    @Query("select new crud.dto.PersonVersion(p.version, a.version) from Person p left join p.address a where p.id = :id")
+    Optional<PersonVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * Obtiene varias personas (con su dirección) por sus IDs en una sola consulta.
+     * Lo usan las operaciones masivas para cargar cada bloque de una vez.
+     *
+     * @param ids IDs de las personas a buscar.
+     * @return Las personas encontradas, en cualquier orden.
+     */
+    @EntityGraph(attributePaths = "address")
+    List<Person> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Recorre todas las personas como un flujo, leyendo del cursor JDBC por bloques.
+     * El fetch size solo es respetado por PostgreSQL dentro de una transacción,
+     * por lo que el flujo debe consumirse en un metodo @Transactional y cerrarse al terminar.
+     *
+     * @return Un flujo de objetos Person ordenados por ID.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Person p left join fetch p.address order by p.id")
+    Stream<Person> streamAll();
+
+    /**
+     * Obtiene las personas cuyo ID es mayor al indicado (paginación por cursor / keyset).
+     * La búsqueda se apoya en el índice de la clave primaria, por lo que su costo no depende
+     * de la profundidad de la página, y al devolver un Slice no se ejecuta ningún count(*).
+     *
+     * @param lastId   Último ID entregado al cliente (0 para la primera página).
+     * @param pageable Solo se usa el tamaño de página; el orden es siempre por ID ascendente.
+     * @return Un Slice con las personas siguientes y la indicación de si hay más.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Person p left join fetch p.address where p.id > :lastId order by p.id")
+    Slice<Person> findByIdGreaterThan(@Param("lastId") long lastId, Pageable pageable);
+
+    /**
+     * Cuenta las personas por ciudad. Se ejecuta en una transacción de escritura para que lea del primario:
+     * con una réplica atrasada, la reconciliación de las estadísticas "corregiría" contadores que están bien.
+     *
+     * @return El número de personas de cada ciudad (ciudad null para las que no tienen).
+     */
+    @Transactional
+    @Query("select new crud.dto.CityCount(a.city, count(p)) from Person p left join p.address a group by a.city")
+    List<CityCount> countByCity();
+
+    /**
+     * Indica si existe una persona con el correo indicado, sin distinguir mayúsculas.
+     * Se apoya en el índice único sobre email_search.
+     *
+     * @param emailSearch Correo en minúsculas.
+     * @return true si ya existe.
+     */
+    boolean existsByEmailSearch(String emailSearch);
+
+    /**
+     * Obtiene cuáles de los correos indicados ya existen, en una sola consulta.
+     *
+     * @param emails Correos en minúsculas.
+     * @return Los que ya existen, en minúsculas.
+     */
+    @Query("select p.emailSearch from Person p where p.emailSearch in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Recorre todos los correos (en minúsculas) para reconstruir el filtro de correos.
+     * Igual que {@link #streamAll()}, debe consumirse dentro de una transacción y cerrarse al terminar.
+     *
+     * @return Un flujo con el correo de cada persona.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select p.emailSearch from Person p")
+    Stream<String> streamEmails();
+}
@@ -0,0 +1,110 @@
+package crud.repository;
+
+import crud.dto.PersonSearchCriteria;
+import crud.model.Person;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Especificaciones (criterios JPA) para buscar personas.
+ * Cada filtro se traduce a un predicado SQL sobre una columna indexada: las comparaciones sin
+ * distinción de mayúsculas usan las columnas generadas *_search, que ya están en minúsculas,
+ * en lugar de aplicar lower() a cada fila.
+ */
+public final class PersonSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private PersonSpecifications() {
+    }
+
+    /**
+     * Combina los filtros informados en una sola especificación.
+     *
+     * @param criteria Filtros de la búsqueda.
+     * @return Una especificación que exige todos los filtros informados (o ninguno si están vacíos).
+     */
+    public static Specification<Person> matching(PersonSearchCriteria criteria) {
+        List<Specification<Person>> specifications = new ArrayList<>(5);
+        if (hasText(criteria.name())) {
+            specifications.add(nameStartsWith(criteria.name()));
+        }
+        if (hasText(criteria.q())) {
+            specifications.add(nameContains(criteria.q()));
+        }
+        if (hasText(criteria.email())) {
+            specifications.add(emailEquals(criteria.email()));
+        }
+        if (hasText(criteria.phone())) {
+            specifications.add(phoneEquals(criteria.phone()));
+        }
+        if (hasText(criteria.city())) {
+            specifications.add(cityEquals(criteria.city()));
+        }
+        return Specification.allOf(specifications);
+    }
+
+    /**
+     * Nombre que empieza por el prefijo indicado (índice B-tree sobre name_search).
+     */
+    public static Specification<Person> nameStartsWith(String prefix) {
+        String pattern = escapeLike(normalize(prefix)) + "%";
+        return (root, query, cb) -> cb.like(root.get("nameSearch"), pattern, LIKE_ESCAPE);
+    }
+
+    /**
+     * Nombre que contiene el texto indicado (índice de trigramas sobre name_search en PostgreSQL).
+     */
+    public static Specification<Person> nameContains(String text) {
+        String pattern = "%" + escapeLike(normalize(text)) + "%";
+        return (root, query, cb) -> cb.like(root.get("nameSearch"), pattern, LIKE_ESCAPE);
+    }
+
+    /**
+     * Correo electrónico igual al indicado, sin distinguir mayúsculas.
+     */
+    public static Specification<Person> emailEquals(String email) {
+        String value = normalize(email);
+        return (root, query, cb) -> cb.equal(root.get("emailSearch"), value);
+    }
+
+    /**
+     * Número de teléfono igual al indicado.
+     */
+    public static Specification<Person> phoneEquals(String phone) {
+        String value = phone.trim();
+        return (root, query, cb) -> cb.equal(root.get("phoneNumber"), value);
+    }
+
+    /**
+     * Ciudad de la dirección igual a la indicada, sin distinguir mayúsculas.
+     */
+    public static Specification<Person> cityEquals(String city) {
+        String value = normalize(city);
+        return (root, query, cb) -> cb.equal(root.get("address").get("citySearch"), value);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Escapa los comodines de LIKE para que el texto del cliente se busque literalmente.
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
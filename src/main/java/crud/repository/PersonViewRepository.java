@@ -0,0 +1,30 @@
+package crud.repository;
+
+import crud.dto.PersonView;
+import crud.service.PersonField;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Consultas de proyecciones de personas ({@code fields=}), implementadas en {@link PersonViewRepositoryImpl}.
+ * Solo seleccionan las columnas de los campos pedidos, unen la dirección únicamente si se pide alguno de sus
+ * campos y devuelven valores escalares: no se crean entidades ni se registran en el contexto de persistencia.
+ */
+public interface PersonViewRepository {
+
+    /**
+     * Todas las personas, ordenadas por ID.
+     */
+    List<PersonView> findAllViews(Set<PersonField> fields);
+
+    /**
+     * Página de personas, ordenadas por ID (el orden de {@code pageable} se ignora).
+     */
+    Page<PersonView> findAllViews(Set<PersonField> fields, Pageable pageable);
+
+    Optional<PersonView> findViewById(Long id, Set<PersonField> fields);
+}
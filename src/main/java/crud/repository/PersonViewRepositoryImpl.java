@@ -0,0 +1,117 @@
+package crud.repository;
+
+import crud.dto.PersonView;
+import crud.model.Address;
+import crud.model.Person;
+import crud.service.PersonField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.hibernate.jpa.AvailableHints.HINT_CACHEABLE;
+
+/**
+ * Implementación de {@link PersonViewRepository} con consultas de tuplas (Criteria API), que Spring Data
+ * combina con {@link PersonRepository}. Una consulta por cada combinación de campos pedida.
+ */
+class PersonViewRepositoryImpl implements PersonViewRepository {
+
+    private final EntityManager entityManager;
+
+    PersonViewRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<PersonView> findAllViews(Set<PersonField> fields) {
+        return toViews(query(fields, null).getResultList(), fields);
+    }
+
+    @Override
+    public Page<PersonView> findAllViews(Set<PersonField> fields, Pageable pageable) {
+        TypedQuery<Tuple> query = query(fields, null);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<PersonView> content = toViews(query.getResultList(), fields);
+        // Mismo count(*) que la paginación de entidades, también en la caché de consultas
+        return PageableExecutionUtils.getPage(content, pageable, () ->
+                entityManager.createQuery("select count(p) from Person p", Long.class)
+                        .setHint(HINT_CACHEABLE, true)
+                        .getSingleResult());
+    }
+
+    @Override
+    public Optional<PersonView> findViewById(Long id, Set<PersonField> fields) {
+        return query(fields, id).getResultStream().findFirst().map(tuple -> toView(tuple, fields));
+    }
+
+    private TypedQuery<Tuple> query(Set<PersonField> fields, Long id) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Person> person = query.from(Person.class);
+        Join<Person, Address> address = fields.stream().anyMatch(PersonField::isAddress)
+                ? person.join("address", JoinType.LEFT)
+                : null;
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (PersonField field : fields) {
+            From<?, ?> from = field.isAddress() ? address : person;
+            selections.add(from.get(field.getAttribute()).alias(field.name()));
+        }
+        query.multiselect(selections);
+        if (id != null) {
+            query.where(cb.equal(person.get("id"), id));
+        } else {
+            query.orderBy(cb.asc(person.get("id")));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private static List<PersonView> toViews(List<Tuple> tuples, Set<PersonField> fields) {
+        List<PersonView> views = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            views.add(toView(tuple, fields));
+        }
+        return views;
+    }
+
+    private static PersonView toView(Tuple tuple, Set<PersonField> fields) {
+        PersonView.AddressView address = null;
+        Long addressId = get(tuple, fields, PersonField.ADDRESS_ID, Long.class);
+        String street = get(tuple, fields, PersonField.ADDRESS_STREET, String.class);
+        String city = get(tuple, fields, PersonField.ADDRESS_CITY, String.class);
+        Long addressVersion = get(tuple, fields, PersonField.ADDRESS_VERSION, Long.class);
+        // Sin dirección el LEFT JOIN devuelve todas sus columnas nulas
+        if (addressId != null || street != null || city != null || addressVersion != null) {
+            address = new PersonView.AddressView(addressId, addressVersion, street, city);
+        }
+        return new PersonView(
+                get(tuple, fields, PersonField.ID, Long.class),
+                get(tuple, fields, PersonField.VERSION, Long.class),
+                get(tuple, fields, PersonField.NAME, String.class),
+                get(tuple, fields, PersonField.EMAIL, String.class),
+                get(tuple, fields, PersonField.PHONE, String.class),
+                address);
+    }
+
+    private static <T> T get(Tuple tuple, Set<PersonField> fields, PersonField field, Class<T> type) {
+        return fields.contains(field) ? tuple.get(field.name(), type) : null;
+    }
+}
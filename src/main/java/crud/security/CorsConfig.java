@@ -26,8 +26,9 @@ public class CorsConfig {
                 registry.addMapping("/**")// Permite todas las rutas del backend
                         .allowedOrigins("https://front-crud-spring.netlify.app", // Dominio del frontend local
                                 "http://127.0.0.1:5500") // Dirección alternativa del frontend
-                        .allowedMethods("GET", "POST", "PUT", "DELETE") // Métodos HTTP permitidos
-                        .allowedHeaders("*");// Permite todos los encabezados
+                        .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE") // Métodos HTTP permitidos
+                        .allowedHeaders("*")// Permite todos los encabezados
+                        .exposedHeaders("X-Total-Count", "ETag"); // Total opcional de la paginación por cursor y versión de la persona
             }
         };
     }
@@ -0,0 +1,45 @@
+package crud.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Aplicación de documentos JSON Merge Patch (RFC 7396).
+ * Los miembros del parche reemplazan a los del documento original, los objetos se combinan
+ * de forma recursiva y un valor null elimina el miembro.
+ */
+final class JsonMergePatch {
+
+    private JsonMergePatch() {
+    }
+
+    /**
+     * Aplica el parche sobre el documento, modificándolo.
+     *
+     * @param target Documento original.
+     * @param patch  Parche a aplicar.
+     * @return El documento resultante (el mismo objeto si ambos son objetos JSON).
+     */
+    static JsonNode apply(JsonNode target, JsonNode patch) {
+        if (!patch.isObject()) {
+            return patch;
+        }
+        ObjectNode result = target != null && target.isObject()
+                ? (ObjectNode) target
+                : JsonNodeFactory.instance.objectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getValue().isNull()) {
+                result.remove(field.getKey());
+            } else {
+                result.set(field.getKey(), apply(result.get(field.getKey()), field.getValue()));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,335 @@
+package crud.service;
+
+import crud.config.CacheConfig;
+import crud.dto.BulkItemResult;
+import crud.dto.BulkResult;
+import crud.exception.DuplicateEmailException;
+import crud.model.Person;
+import crud.model.PersonChange;
+import crud.repository.PersonRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio para las operaciones masivas sobre la entidad Person.
+ * Valida todos los elementos en una sola pasada y persiste los válidos por bloques
+ * ({@code crud.bulk.chunk-size}), cada bloque en su propia transacción, de modo que Hibernate
+ * pueda agrupar las sentencias con JDBC batching y el contexto de persistencia no crezca sin límite.
+ * Si un bloque falla, solo sus elementos se reportan con error; el resto de bloques continúa. Si falla por una
+ * restricción de la base de datos, se reintenta elemento a elemento para reportar solo los que la violan.
+ * Las personas actualizadas o eliminadas se desalojan de la caché de lecturas tras confirmar su bloque.
+ * Cada elemento escrito registra su cambio en el mismo bloque (ver {@link PersonChangeService}).
+ * Los correos ya registrados, o repetidos dentro de la misma solicitud, se rechazan con 409; la comprobación
+ * usa {@link PersonEmailFilter}, así que solo consulta la base para los correos que el filtro no descarta.
+ */
+@Service
+public class PersonBulkService {
+
+    private final PersonRepository personRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final PersonChangeService personChangeService;
+    private final PersonEmailFilter personEmailFilter;
+    private final Cache personsCache;
+    private final int chunkSize;
+
+    private static final Logger logger = LoggerFactory.getLogger(PersonBulkService.class);
+
+    public PersonBulkService(PersonRepository personRepository,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             Validator validator,
+                             PersonChangeService personChangeService,
+                             PersonEmailFilter personEmailFilter,
+                             CacheManager cacheManager,
+                             @Value("${crud.bulk.chunk-size:500}") int chunkSize) {
+        this.personRepository = personRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.personChangeService = personChangeService;
+        this.personEmailFilter = personEmailFilter;
+        this.personsCache = cacheManager.getCache(CacheConfig.PERSONS_CACHE);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Crea varias personas. Los IDs recibidos se ignoran, igual que en una creación individual.
+     *
+     * @param persons Personas a crear.
+     * @return El resultado de cada elemento (201 si se creó, 409 si el correo ya existe).
+     */
+    @Timed(value = "person.service", extraTags = {"operation", "bulkCreatePersons"}, histogram = true)
+    public BulkResult createPersons(List<Person> persons) {
+        logger.debug("Creación masiva de {} personas", persons.size());
+        BulkItemResult[] results = new BulkItemResult[persons.size()];
+        List<Integer> valid = rejectRepeatedEmails(persons, results, validate(persons, results, false));
+
+        writeChunks(valid, results, "guardar", index -> null, chunk -> {
+            Set<String> taken = personEmailFilter.findTaken(
+                    chunk.stream().map(i -> persons.get(i).getEmailAddress()).toList());
+            BulkItemResult[] partial = new BulkItemResult[chunk.size()];
+            for (int i = 0; i < chunk.size(); i++) {
+                int index = chunk.get(i);
+                Person person = persons.get(index);
+                if (taken.contains(PersonEmailFilter.normalize(person.getEmailAddress()))) {
+                    partial[i] = BulkItemResult.conflict(index, null, DuplicateEmailException.MESSAGE);
+                    continue;
+                }
+                person.setId(null);
+                if (person.getAddress() != null) {
+                    person.getAddress().setId(null);
+                }
+                entityManager.persist(person);
+                personEmailFilter.add(person.getEmailAddress());
+                personChangeService.record(person.getId(), PersonChange.Type.UPSERT,
+                        null, PersonChangeEvent.cityOf(person));
+                partial[i] = BulkItemResult.created(index, person.getId());
+            }
+            return partial;
+        });
+        return BulkResult.of(Arrays.asList(results));
+    }
+
+    /**
+     * Actualiza varias personas existentes. Cada elemento debe incluir su ID.
+     *
+     * @param persons Datos nuevos de cada persona.
+     * @return El resultado de cada elemento (200 si se actualizó, 404 si no existe, 409 si el nuevo correo
+     *         ya existe o lo repite otro elemento de la solicitud).
+     */
+    @Timed(value = "person.service", extraTags = {"operation", "bulkUpdatePersons"}, histogram = true)
+    public BulkResult updatePersons(List<Person> persons) {
+        logger.debug("Actualización masiva de {} personas", persons.size());
+        BulkItemResult[] results = new BulkItemResult[persons.size()];
+        List<Integer> valid = rejectRepeatedEmails(persons, results, validate(persons, results, true));
+
+        writeChunks(valid, results, "actualizar", index -> persons.get(index).getId(), chunk -> {
+            Map<Long, Person> existing = loadExisting(chunk.stream().map(i -> persons.get(i).getId()).toList());
+            Set<String> taken = personEmailFilter.findTaken(chunk.stream()
+                    .map(persons::get)
+                    .filter(details -> emailChanged(existing.get(details.getId()), details))
+                    .map(Person::getEmailAddress)
+                    .toList());
+            BulkItemResult[] partial = new BulkItemResult[chunk.size()];
+            for (int i = 0; i < chunk.size(); i++) {
+                int index = chunk.get(i);
+                Person details = persons.get(index);
+                Person person = existing.get(details.getId());
+                if (person == null) {
+                    partial[i] = BulkItemResult.notFound(index, details.getId());
+                    continue;
+                }
+                if (emailChanged(person, details)) {
+                    if (taken.contains(PersonEmailFilter.normalize(details.getEmailAddress()))) {
+                        partial[i] = BulkItemResult.conflict(index, person.getId(), DuplicateEmailException.MESSAGE);
+                        continue;
+                    }
+                    personEmailFilter.add(details.getEmailAddress());
+                }
+                String cityBefore = PersonChangeEvent.cityOf(person);
+                PersonDetails.apply(person, details);
+                personChangeService.record(person.getId(), PersonChange.Type.UPSERT,
+                        cityBefore, PersonChangeEvent.cityOf(person));
+                partial[i] = BulkItemResult.updated(index, person.getId());
+            }
+            return partial;
+        });
+        return BulkResult.of(Arrays.asList(results));
+    }
+
+    /**
+     * Elimina varias personas (y sus direcciones) por ID.
+     *
+     * @param ids IDs de las personas a eliminar.
+     * @return El resultado de cada elemento (204 si se eliminó, 404 si no existe).
+     */
+    @Timed(value = "person.service", extraTags = {"operation", "bulkDeletePersons"}, histogram = true)
+    public BulkResult deletePersons(List<Long> ids) {
+        logger.debug("Eliminación masiva de {} personas", ids.size());
+        BulkItemResult[] results = new BulkItemResult[ids.size()];
+        List<Integer> valid = new ArrayList<>(ids.size());
+        for (int index = 0; index < ids.size(); index++) {
+            if (ids.get(index) == null) {
+                results[index] = BulkItemResult.invalid(index, null, Map.of("id", "El ID es obligatorio"));
+            } else {
+                valid.add(index);
+            }
+        }
+
+        writeChunks(valid, results, "eliminar", ids::get, chunk -> {
+            Map<Long, Person> existing = loadExisting(chunk.stream().map(ids::get).toList());
+            BulkItemResult[] partial = new BulkItemResult[chunk.size()];
+            for (int i = 0; i < chunk.size(); i++) {
+                int index = chunk.get(i);
+                Person person = existing.remove(ids.get(index));
+                if (person == null) {
+                    partial[i] = BulkItemResult.notFound(index, ids.get(index));
+                    continue;
+                }
+                String cityBefore = PersonChangeEvent.cityOf(person);
+                entityManager.remove(person);
+                personChangeService.record(person.getId(), PersonChange.Type.DELETE, cityBefore, null);
+                partial[i] = BulkItemResult.deleted(index, person.getId());
+            }
+            return partial;
+        });
+        return BulkResult.of(Arrays.asList(results));
+    }
+
+    /**
+     * Escribe los elementos por bloques, cada bloque en su propia transacción, y guarda el resultado de cada uno
+     * en {@code results}. Si un bloque viola una restricción de la base de datos (por ejemplo, el índice único
+     * del correo ante un alta concurrente), se reintenta elemento a elemento: solo los que la violan se
+     * reportan, con 409 si es el correo y 500 en otro caso.
+     *
+     * @param action     Verbo de la operación para los mensajes de error ("guardar", "actualizar"...).
+     * @param idOf       ID conocido del elemento de cada índice, para los resultados de error.
+     * @param writeChunk Escribe un bloque dentro de la transacción y devuelve el resultado de cada elemento.
+     */
+    private void writeChunks(List<Integer> indexes, BulkItemResult[] results, String action, IntFunction<Long> idOf,
+                             Function<List<Integer>, BulkItemResult[]> writeChunk) {
+        for (List<Integer> chunk : chunks(indexes)) {
+            writeChunk(chunk, results, action, idOf, writeChunk);
+        }
+    }
+
+    private void writeChunk(List<Integer> chunk, BulkItemResult[] results, String action, IntFunction<Long> idOf,
+                            Function<List<Integer>, BulkItemResult[]> writeChunk) {
+        try {
+            BulkItemResult[] chunkResults = transactionTemplate.execute(status -> {
+                BulkItemResult[] partial = writeChunk.apply(chunk);
+                entityManager.flush();
+                entityManager.clear();
+                return partial;
+            });
+            for (int i = 0; i < chunk.size(); i++) {
+                results[chunk.get(i)] = chunkResults[i];
+                evict(chunkResults[i]);
+            }
+        } catch (RuntimeException e) {
+            if (chunk.size() > 1 && isIntegrityViolation(e)) {
+                logger.warn("Un bloque de {} personas viola una restricción; se reintenta elemento a elemento", chunk.size());
+                for (int index : chunk) {
+                    writeChunk(List.of(index), results, action, idOf, writeChunk);
+                }
+                return;
+            }
+            if (DuplicateEmailException.isViolation(e)) {
+                for (int index : chunk) {
+                    results[index] = BulkItemResult.conflict(index, idOf.apply(index), DuplicateEmailException.MESSAGE);
+                }
+                return;
+            }
+            logger.error("Error al {} un bloque de {} personas", action, chunk.size(), e);
+            for (int index : chunk) {
+                results[index] = BulkItemResult.failed(index, idOf.apply(index), "Ocurrió un error al " + action + " la persona.");
+            }
+        }
+    }
+
+    // Violación de una restricción, lanzada por Hibernate al hacer flush o ya traducida por Spring al confirmar.
+    private static boolean isIntegrityViolation(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataIntegrityViolationException || cause instanceof ConstraintViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Valida todos los elementos en una sola pasada.
+     * Los inválidos quedan registrados en {@code results}; se devuelven los índices de los válidos.
+     */
+    private List<Integer> validate(List<Person> persons, BulkItemResult[] results, boolean requireId) {
+        List<Integer> valid = new ArrayList<>(persons.size());
+        for (int index = 0; index < persons.size(); index++) {
+            Person person = persons.get(index);
+            if (person == null) {
+                results[index] = BulkItemResult.invalid(index, null, Map.of("person", "El elemento no puede ser nulo"));
+                continue;
+            }
+            Map<String, String> errors = new LinkedHashMap<>();
+            if (requireId && person.getId() == null) {
+                errors.put("id", "El ID es obligatorio");
+            }
+            Set<ConstraintViolation<Person>> violations = validator.validate(person);
+            for (ConstraintViolation<Person> violation : violations) {
+                errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+            }
+            if (errors.isEmpty()) {
+                valid.add(index);
+            } else {
+                results[index] = BulkItemResult.invalid(index, person.getId(), errors);
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Rechaza con 409 los elementos que repiten el correo de un elemento anterior de la misma solicitud;
+     * se devuelven los índices del resto.
+     */
+    private static List<Integer> rejectRepeatedEmails(List<Person> persons, BulkItemResult[] results, List<Integer> valid) {
+        Set<String> seen = new HashSet<>();
+        List<Integer> unique = new ArrayList<>(valid.size());
+        for (int index : valid) {
+            if (seen.add(PersonEmailFilter.normalize(persons.get(index).getEmailAddress()))) {
+                unique.add(index);
+            } else {
+                results[index] = BulkItemResult.conflict(index, persons.get(index).getId(), DuplicateEmailException.MESSAGE);
+            }
+        }
+        return unique;
+    }
+
+    // Indica si la actualización cambia el correo de una persona existente (sin distinguir mayúsculas).
+    private static boolean emailChanged(Person person, Person details) {
+        return person != null && !PersonEmailFilter.normalize(person.getEmailAddress())
+                .equals(PersonEmailFilter.normalize(details.getEmailAddress()));
+    }
+
+    private void evict(BulkItemResult result) {
+        if (result.succeeded() && result.id() != null) {
+            personsCache.evict(result.id());
+        }
+    }
+
+    private Map<Long, Person> loadExisting(List<Long> ids) {
+        return personRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Person::getId, Function.identity()));
+    }
+
+    private List<List<Integer>> chunks(List<Integer> indexes) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < indexes.size(); from += chunkSize) {
+            chunks.add(indexes.subList(from, Math.min(from + chunkSize, indexes.size())));
+        }
+        return chunks;
+    }
+}
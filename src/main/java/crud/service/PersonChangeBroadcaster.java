@@ -0,0 +1,137 @@
+package crud.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Difunde los cambios confirmados a los clientes suscritos a /api/persons/changes/stream (Server-Sent Events).
+ * <p>
+ * Los eventos solo notifican (número de secuencia, ID y tipo); el estado de cada persona se obtiene con
+ * /api/persons/changes. Cada suscriptor tiene su propia cola acotada ({@code crud.changes.sse-buffer}) que
+ * se vacía en un hilo virtual, de modo que un cliente lento no retrasa la confirmación de las escrituras
+ * ni al resto de suscriptores. Si su cola se llena, se cierra su conexión: el cliente reanuda consultando
+ * /api/persons/changes con su último token {@code next}, sin perder cambios.
+ */
+@Service
+public class PersonChangeBroadcaster {
+
+    static final String EVENT_NAME = "person-change";
+
+    private static final Logger logger = LoggerFactory.getLogger(PersonChangeBroadcaster.class);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final Counter dropped;
+
+    public PersonChangeBroadcaster(MeterRegistry meterRegistry,
+                                   @Value("${crud.changes.sse-buffer:256}") int bufferSize,
+                                   @Value("${crud.changes.sse-timeout:30m}") Duration timeout) {
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.dropped = Counter.builder("person.changes.subscribers.dropped")
+                .description("Suscriptores desconectados por no consumir los eventos a tiempo")
+                .register(meterRegistry);
+        Gauge.builder("person.changes.subscribers", subscribers, Set::size)
+                .description("Suscriptores conectados al flujo de cambios")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra un nuevo suscriptor.
+     *
+     * @return El emisor SSE que devuelve el controlador.
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Encola el cambio para cada suscriptor tras confirmarse la transacción que lo registró.
+     *
+     * @param event Cambio confirmado.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChange(PersonChangeEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.queue.offer(event)) {
+                drop(subscriber);
+                continue;
+            }
+            if (subscriber.draining.compareAndSet(false, true)) {
+                executor.execute(() -> drain(subscriber));
+            }
+        }
+    }
+
+    // Envía los eventos pendientes de un suscriptor. Solo hay un drenaje en curso por suscriptor.
+    private void drain(Subscriber subscriber) {
+        do {
+            PersonChangeEvent event;
+            while ((event = subscriber.queue.poll()) != null) {
+                try {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(Long.toString(event.seq()))
+                            .name(EVENT_NAME)
+                            .data(event, MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    logger.debug("Suscriptor desconectado: {}", e.getMessage());
+                    subscribers.remove(subscriber);
+                    subscriber.queue.clear();
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+            // Un evento encolado justo después del último poll no inició otro drenaje: comprobarlo
+        } while (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            logger.warn("Suscriptor al flujo de cambios desconectado: cola llena ({} eventos)", bufferSize);
+            dropped.increment();
+            subscriber.emitter.complete();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        executor.shutdownNow();
+    }
+
+    private record Subscriber(SseEmitter emitter, BlockingQueue<PersonChangeEvent> queue, AtomicBoolean draining) {
+
+        Subscriber(SseEmitter emitter, BlockingQueue<PersonChangeEvent> queue) {
+            this(emitter, queue, new AtomicBoolean());
+        }
+    }
+}
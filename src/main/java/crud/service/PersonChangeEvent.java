@@ -0,0 +1,38 @@
+package crud.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import crud.model.Person;
+import crud.model.PersonChange;
+
+/**
+ * Evento publicado por cada cambio registrado en {@link PersonChangeService}. Los oyentes lo reciben
+ * con {@code @TransactionalEventListener(phase = AFTER_COMMIT)}, es decir, solo si la escritura se confirmó.
+ * <p>
+ * Las ciudades anterior y posterior permiten mantener las estadísticas sin volver a leer la persona; no se
+ * envían a los suscriptores SSE.
+ *
+ * @param seq        Número de secuencia del cambio.
+ * @param id         ID de la persona.
+ * @param type       Tipo de cambio.
+ * @param cityBefore Ciudad antes del cambio ({@link #NO_CITY} si no tenía), o null si la persona no existía.
+ * @param cityAfter  Ciudad después del cambio ({@link #NO_CITY} si no tiene), o null si la persona se eliminó.
+ */
+public record PersonChangeEvent(long seq, Long id, PersonChange.Type type,
+                                @JsonIgnore String cityBefore, @JsonIgnore String cityAfter) {
+
+    /** Ciudad de las personas sin dirección o sin ciudad. */
+    public static final String NO_CITY = "";
+
+    /**
+     * Ciudad de una persona tal como se usa en el evento.
+     *
+     * @param person Persona existente.
+     * @return Su ciudad, o {@link #NO_CITY}.
+     */
+    public static String cityOf(Person person) {
+        if (person.getAddress() == null || person.getAddress().getCity() == null) {
+            return NO_CITY;
+        }
+        return person.getAddress().getCity();
+    }
+}
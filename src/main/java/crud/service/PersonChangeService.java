@@ -0,0 +1,158 @@
+package crud.service;
+
+import crud.dto.PersonChanges;
+import crud.model.Person;
+import crud.model.PersonChange;
+import crud.repository.PersonChangeRepository;
+import crud.repository.PersonRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Registro de cambios de personas para la sincronización incremental (/api/persons/changes).
+ * <p>
+ * PersonService y PersonBulkService llaman a {@link #record} dentro de la transacción de cada escritura:
+ * el cambio se inserta en person_change junto con los datos y se publica un {@link PersonChangeEvent}
+ * que los oyentes reciben tras la confirmación.
+ * <p>
+ * Los números de secuencia se asignan al registrar el cambio, pero las transacciones pueden confirmarse en
+ * otro orden: si un cliente leyera el cambio 11 antes de que se confirme el 10, avanzaría su token y nunca
+ * vería el 10. Por eso solo se entregan los cambios
+ * <ul>
+ *     <li>registrados hace más de {@code crud.changes.lag}: cualquier transacción, de esta o de otra instancia,
+ *     que registró un número anterior ha tenido ese margen para confirmarse, y</li>
+ *     <li>anteriores al menor número de secuencia todavía en curso en esta instancia, lo que cubre también
+ *     las transacciones locales que duran más que el margen.</li>
+ * </ul>
+ * El margen debe superar la duración de las transacciones de escritura más el desfase entre los relojes
+ * de las instancias (ver README, "Sincronización incremental").
+ */
+@Service
+public class PersonChangeService {
+
+    private final PersonChangeRepository personChangeRepository;
+    private final PersonRepository personRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxLimit;
+    private final Duration lag;
+
+    // Números de secuencia asignados cuyas transacciones aún no terminaron
+    private final NavigableSet<Long> inFlight = new ConcurrentSkipListSet<>();
+
+    public PersonChangeService(PersonChangeRepository personChangeRepository,
+                               PersonRepository personRepository,
+                               EntityManager entityManager,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${crud.changes.max-limit:1000}") int maxLimit,
+                               @Value("${crud.changes.lag:5s}") Duration lag) {
+        this.personChangeRepository = personChangeRepository;
+        this.personRepository = personRepository;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.maxLimit = maxLimit;
+        this.lag = lag;
+    }
+
+    /**
+     * Registra un cambio en la transacción actual. El INSERT se agrupa con el resto de la escritura
+     * al hacer flush.
+     *
+     * @param personId   ID de la persona creada, modificada o eliminada.
+     * @param type       Tipo de cambio.
+     * @param cityBefore Ciudad antes del cambio, o null en un alta (ver {@link PersonChangeEvent}).
+     * @param cityAfter  Ciudad después del cambio, o null en una eliminación.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long personId, PersonChange.Type type, String cityBefore, String cityAfter) {
+        PersonChange change = new PersonChange(personId, type, Instant.now());
+        entityManager.persist(change); // asigna el número de secuencia con un nextval
+        long seq = change.getSeq();
+        // Entre el nextval y este add el cambio todavía es más reciente que el margen, que lo protege
+        inFlight.add(seq);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                inFlight.remove(seq);
+            }
+        });
+        eventPublisher.publishEvent(new PersonChangeEvent(seq, personId, type, cityBefore, cityAfter));
+    }
+
+    /**
+     * Obtiene los cambios posteriores a {@code since}: el último de cada persona, con su estado actual,
+     * o una lápida si fue eliminada. Se lee del primario (no es de solo lectura), ya que una réplica
+     * aplica las transacciones en orden de confirmación y podría mostrar un cambio sin otro anterior.
+     *
+     * @param since Último número de secuencia que ya tiene el cliente (0 para empezar desde el principio).
+     * @param limit Número máximo de entradas del registro a leer (como mucho {@code crud.changes.max-limit}).
+     * @return Los cambios y el token para la siguiente consulta.
+     */
+    @Transactional
+    @Timed(value = "person.service", extraTags = {"operation", "getChanges"}, histogram = true)
+    public PersonChanges getChanges(long since, int limit) {
+        int size = Math.max(1, Math.min(limit, maxLimit));
+        Instant settledBefore = Instant.now().minus(lag);
+        List<PersonChange> read = personChangeRepository.findChanges(since, completedUpTo(), Limit.of(size));
+        // Se corta en el primer cambio dentro del margen: los anteriores a él podrían estar aún sin confirmar
+        List<PersonChange> log = read.stream()
+                .takeWhile(change -> !change.getChangedAt().isAfter(settledBefore))
+                .toList();
+        if (log.isEmpty()) {
+            return new PersonChanges(List.of(), since, false);
+        }
+
+        // Último cambio de cada persona, en el orden en que ocurrió
+        Map<Long, PersonChange> latest = new LinkedHashMap<>();
+        for (PersonChange change : log) {
+            latest.remove(change.getPersonId());
+            latest.put(change.getPersonId(), change);
+        }
+        List<Long> upserted = latest.values().stream()
+                .filter(change -> change.getType() == PersonChange.Type.UPSERT)
+                .map(PersonChange::getPersonId)
+                .toList();
+        Map<Long, Person> persons = upserted.isEmpty() ? Map.of() : personRepository.findByIdIn(upserted).stream()
+                .collect(Collectors.toMap(Person::getId, Function.identity()));
+
+        List<PersonChanges.Entry> entries = new ArrayList<>(latest.size());
+        for (PersonChange change : latest.values()) {
+            if (change.getType() == PersonChange.Type.DELETE) {
+                entries.add(new PersonChanges.Entry(change.getSeq(), change.getPersonId(), change.getType(), null));
+                continue;
+            }
+            Person person = persons.get(change.getPersonId());
+            // Si ya no existe, su eliminación es un cambio posterior que llegará en otra consulta
+            if (person != null) {
+                entries.add(new PersonChanges.Entry(change.getSeq(), change.getPersonId(), change.getType(), person));
+            }
+        }
+        long next = log.get(log.size() - 1).getSeq();
+        return new PersonChanges(entries, next, log.size() == size);
+    }
+
+    // Mayor número de secuencia hasta el que todas las transacciones de esta instancia terminaron.
+    private long completedUpTo() {
+        Long oldest = inFlight.ceiling(Long.MIN_VALUE); // null si no hay ninguno, sin carrera con remove
+        return oldest != null ? oldest - 1 : Long.MAX_VALUE;
+    }
+}
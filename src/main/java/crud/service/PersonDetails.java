@@ -0,0 +1,42 @@
+package crud.service;
+
+import crud.model.Address;
+import crud.model.Person;
+
+/**
+ * Copia de los datos editables de una persona sobre la entidad gestionada, común a la
+ * actualización individual, la parcial (PATCH) y la masiva.
+ * Solo se asignan valores; Hibernate detecta qué columnas cambiaron y, con {@code @DynamicUpdate},
+ * el UPDATE incluye únicamente esas columnas (o no se ejecuta si nada cambió).
+ */
+final class PersonDetails {
+
+    private PersonDetails() {
+    }
+
+    /**
+     * Copia nombre, teléfono, correo y dirección. La dirección existente se modifica en su lugar
+     * en vez de reemplazarse por una nueva fila; si los datos nuevos no tienen dirección, la anterior
+     * se elimina (orphanRemoval).
+     *
+     * @param person  Persona gestionada por el contexto de persistencia.
+     * @param details Datos nuevos, ya validados.
+     */
+    static void apply(Person person, Person details) {
+        person.setName(details.getName());
+        person.setPhoneNumber(details.getPhoneNumber());
+        person.setEmailAddress(details.getEmailAddress());
+
+        Address address = person.getAddress();
+        Address newAddress = details.getAddress();
+        if (newAddress == null) {
+            person.setAddress(null);
+        } else if (address == null) {
+            newAddress.setId(null);
+            person.setAddress(newAddress);
+        } else {
+            address.setStreet(newAddress.getStreet());
+            address.setCity(newAddress.getCity());
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package crud.service;
+
+import crud.repository.PersonRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Comprueba si un correo electrónico ya está registrado evitando, en la mayoría de los casos, la consulta.
+ * <p>
+ * Un {@link BloomFilter} con los correos existentes responde "seguro que es nuevo" sin ir a la base de datos;
+ * solo cuando responde "quizás existe" se consulta el índice único. El filtro se construye al arrancar
+ * (mientras tanto, todos los correos se consultan) y se actualiza con cada alta o cambio de correo. Los correos
+ * eliminados siguen en el filtro y solo cuestan una consulta. Las altas hechas por otra instancia o fuera de la
+ * API no están en el filtro: las detecta el índice único al insertar (409 igualmente).
+ * <p>
+ * Se compara sin distinguir mayúsculas, igual que la columna email_search.
+ */
+@Component
+public class PersonEmailFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersonEmailFilter.class);
+
+    private final PersonRepository personRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Counter skipped;
+    private final Counter queried;
+
+    // null hasta terminar la primera construcción
+    private volatile BloomFilter filter;
+    // Filtro en construcción, que también recibe las altas concurrentes
+    private volatile BloomFilter building;
+
+    public PersonEmailFilter(PersonRepository personRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${crud.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                             @Value("${crud.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.personRepository = personRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.skipped = Counter.builder("person.email.lookups")
+                .tag("result", "skipped")
+                .description("Comprobaciones de correo duplicado resueltas sin consultar la base de datos")
+                .register(meterRegistry);
+        this.queried = Counter.builder("person.email.lookups")
+                .tag("result", "queried")
+                .description("Comprobaciones de correo duplicado que consultaron la base de datos")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Clave con la que se comparan los correos (la misma que la columna email_search).
+     */
+    public static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Indica si ya existe una persona con el correo indicado.
+     * Debe llamarse dentro de la transacción de escritura, para consultar el primario.
+     */
+    public boolean isTaken(String email) {
+        if (email == null) {
+            return false;
+        }
+        String key = normalize(email);
+        if (!mightContain(key)) {
+            skipped.increment();
+            return false;
+        }
+        queried.increment();
+        return personRepository.existsByEmailSearch(key);
+    }
+
+    /**
+     * Obtiene cuáles de los correos indicados ya existen, con una sola consulta para los que el filtro no
+     * descarta. Debe llamarse dentro de la transacción de escritura.
+     *
+     * @return Los correos existentes, normalizados con {@link #normalize}.
+     */
+    public Set<String> findTaken(Collection<String> emails) {
+        List<String> candidates = new ArrayList<>();
+        for (String email : emails) {
+            String key = normalize(email);
+            if (mightContain(key)) {
+                candidates.add(key);
+            }
+        }
+        skipped.increment(emails.size() - candidates.size());
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+        queried.increment(candidates.size());
+        return new HashSet<>(personRepository.findExistingEmails(candidates));
+    }
+
+    /**
+     * Registra un correo dado de alta. Se llama antes de confirmar: si la transacción se revierte, el correo
+     * queda como falso positivo.
+     */
+    public void add(String email) {
+        if (email == null) {
+            return;
+        }
+        String key = normalize(email);
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(key);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(key);
+        }
+    }
+
+    /**
+     * Reconstruye el filtro con los correos de la base de datos.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        BloomFilter next = new BloomFilter(expectedInsertions, falsePositiveRate);
+        building = next;
+        long count = readOnlyTransaction.execute(status -> {
+            try (Stream<String> emails = personRepository.streamEmails()) {
+                return emails.mapToLong(email -> {
+                    next.put(email);
+                    return 1;
+                }).sum();
+            }
+        });
+        filter = next;
+        building = null;
+        logger.info("Filtro de correos construido con {} correos en {} ms", count, (System.nanoTime() - start) / 1_000_000);
+        if (count > expectedInsertions) {
+            logger.warn("Hay más correos ({}) que crud.email-filter.expected-insertions ({}): el filtro evitará menos consultas",
+                    count, expectedInsertions);
+        }
+    }
+
+    private boolean mightContain(String key) {
+        BloomFilter current = filter;
+        return current == null || current.mightContain(key);
+    }
+}
@@ -0,0 +1,42 @@
+package crud.service;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * Formatos soportados por la exportación en streaming de personas.
+ */
+public enum PersonExportFormat {
+
+    /**
+     * Un objeto JSON por línea (Newline Delimited JSON).
+     */
+    NDJSON(MediaType.APPLICATION_NDJSON),
+
+    /**
+     * Un único arreglo JSON escrito de forma incremental.
+     */
+    JSON(MediaType.APPLICATION_JSON);
+
+    private final MediaType mediaType;
+
+    PersonExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Convierte el valor de un parámetro de consulta (sin distinguir mayúsculas) en un formato.
+     *
+     * @param value Valor recibido, por ejemplo "ndjson" o "json".
+     * @return El formato correspondiente.
+     * @throws IllegalArgumentException Si el valor no corresponde a ningún formato.
+     */
+    public static PersonExportFormat fromParameter(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
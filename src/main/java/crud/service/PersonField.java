@@ -0,0 +1,87 @@
+package crud.service;
+
+import crud.exception.InvalidFieldException;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Campos que pueden pedirse con {@code fields=} (sparse fieldsets), con su atributo en la entidad.
+ * Los de la dirección se leen con un LEFT JOIN que solo se agrega si se pide alguno de ellos.
+ */
+public enum PersonField {
+
+    ID("id", "id", false),
+    VERSION("version", "version", false),
+    NAME("name", "name", false),
+    EMAIL("emailAddress", "emailAddress", false),
+    PHONE("phoneNumber", "phoneNumber", false),
+    ADDRESS_ID("address.id", "id", true),
+    ADDRESS_VERSION("address.version", "version", true),
+    ADDRESS_STREET("address.street", "street", true),
+    ADDRESS_CITY("address.city", "city", true);
+
+    private static final Set<PersonField> ADDRESS = EnumSet.of(ADDRESS_ID, ADDRESS_VERSION, ADDRESS_STREET, ADDRESS_CITY);
+
+    private final String property;
+    private final String attribute;
+    private final boolean address;
+
+    PersonField(String property, String attribute, boolean address) {
+        this.property = property;
+        this.attribute = attribute;
+        this.address = address;
+    }
+
+    /**
+     * Nombre del campo en JSON (por ejemplo {@code emailAddress} o {@code address.city}).
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Atributo de Person o, si {@link #isAddress()}, de Address.
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public boolean isAddress() {
+        return address;
+    }
+
+    /**
+     * Convierte el parámetro {@code fields} en los campos a consultar. {@code address} equivale a todos
+     * los campos de la dirección, y el ID se incluye siempre porque forma los enlaces de cada persona.
+     *
+     * @param values Nombres de los campos, como en JSON (por ejemplo "name,address.city").
+     * @return Los campos pedidos, más el ID.
+     * @throws InvalidFieldException Si algún campo no existe.
+     */
+    public static Set<PersonField> parse(List<String> values) {
+        Set<PersonField> fields = EnumSet.of(ID);
+        for (String value : values) {
+            String property = value.trim();
+            if (property.isEmpty()) {
+                continue;
+            }
+            if (property.equals("address")) {
+                fields.addAll(ADDRESS);
+                continue;
+            }
+            fields.add(fromProperty(property));
+        }
+        return fields;
+    }
+
+    private static PersonField fromProperty(String property) {
+        for (PersonField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new InvalidFieldException(property);
+    }
+}
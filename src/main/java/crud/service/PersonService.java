@@ -1,14 +1,45 @@
 package crud.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import crud.config.CacheConfig;
+import crud.dto.PersonSearchCriteria;
+import crud.dto.PersonVersion;
+import crud.dto.PersonView;
+import crud.exception.DuplicateEmailException;
+import crud.exception.PersonNotFoundException;
 import crud.model.Person;
+import crud.model.PersonChange;
 import crud.repository.PersonRepository;
+import crud.repository.PersonSpecifications;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  // Clase de servicio para gestionar las operaciones relacionadas con la entidad Person.
@@ -23,13 +54,47 @@ public class PersonService {
     // Repositorio para realizar las operaciones con la base de datos.
     private final PersonRepository personRepository;
 
+    // EntityManager compartido, usado para vaciar el contexto de persistencia durante la exportación.
+    private final EntityManager entityManager;
+
+    // ObjectMapper de Spring, para serializar igual que los endpoints JSON.
+    private final ObjectMapper objectMapper;
+
+    // Validador de Bean Validation, para validar el resultado de aplicar un merge patch.
+    private final Validator validator;
+
+    // Registro de cambios para la sincronización incremental.
+    private final PersonChangeService personChangeService;
+
+    // Filtro de correos existentes, para detectar duplicados sin consultar la base en la mayoría de los casos.
+    private final PersonEmailFilter personEmailFilter;
+
+    // Cada cuántas filas exportadas se vacía el contexto de persistencia y se hace flush de la respuesta.
+    private final int exportClearEvery;
+
     // Logger para registrar información sobre las operaciones realizadas.
     private static final Logger logger = LoggerFactory.getLogger(PersonService.class);
 
      //Constructor que inyecta el repositorio de Person.
      // @param personRepository El repositorio de Person.
-    public PersonService(PersonRepository personRepository) {
+    public PersonService(PersonRepository personRepository,
+                         EntityManager entityManager,
+                         ObjectMapper objectMapper,
+                         Validator validator,
+                         PersonChangeService personChangeService,
+                         PersonEmailFilter personEmailFilter,
+                         @Value("${crud.export.clear-every:500}") int exportClearEvery) {
+        // Se valida al arrancar: durante la exportación el 200 ya se envió y el error truncaría la respuesta
+        if (exportClearEvery < 1) {
+            throw new IllegalArgumentException("crud.export.clear-every debe ser mayor que 0: " + exportClearEvery);
+        }
         this.personRepository = personRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.personChangeService = personChangeService;
+        this.personEmailFilter = personEmailFilter;
+        this.exportClearEvery = exportClearEvery;
     }
 
     /**
@@ -37,16 +102,55 @@ public class PersonService {
      // @param pageable Información de paginación (número de página, tamaño, etc.).
      // @return Una página de objetos Person.
      */
+    @Transactional(readOnly = true)
+    @Timed(value = "person.service", extraTags = {"operation", "getAllPersonsPaged"}, histogram = true)
     public Page<Person> getAllPersons(Pageable pageable) {
         return personRepository.findAll(pageable);
     }
 
+    /**
+     * Obtiene la siguiente porción de personas a partir de un ID (paginación por cursor).
+     * @param lastId Último ID entregado al cliente (0 para la primera página).
+     * @param size   Número máximo de personas a devolver.
+     * @return Un Slice de objetos Person ordenados por ID.
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "person.service", extraTags = {"operation", "getPersonsAfter"}, histogram = true)
+    public Slice<Person> getPersonsAfter(long lastId, int size) {
+        return personRepository.findByIdGreaterThan(lastId, PageRequest.of(0, size));
+    }
+
+    /**
+     * Busca personas según los filtros indicados, con paginación y orden.
+     * Los filtros se ejecutan en la base de datos sobre columnas indexadas.
+     * @param criteria Filtros de la búsqueda.
+     * @param pageable Página, tamaño y orden.
+     * @return Una página con las personas encontradas.
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "person.service", extraTags = {"operation", "searchPersons"}, histogram = true)
+    public Page<Person> searchPersons(PersonSearchCriteria criteria, Pageable pageable) {
+        return personRepository.findAll(PersonSpecifications.matching(criteria), pageable);
+    }
+
+    /**
+     * Cuenta el total de personas registradas.
+     * @return El número total de personas.
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "person.service", extraTags = {"operation", "countPersons"}, histogram = true)
+    public long countPersons() {
+        return personRepository.count();
+    }
+
     /**
      // Obtiene una lista completa de todas las personas (sin paginación).
      // @return Lista de objetos Person.
      */
+    @Transactional(readOnly = true)
+    @Timed(value = "person.service", extraTags = {"operation", "getAllPersons"}, histogram = true)
     public List<Person> getAllPersons() {
-        logger.info("Obteniendo todas las personas");
+        logger.debug("Obteniendo todas las personas");
         return personRepository.findAll();
     }
 
@@ -55,27 +159,240 @@ public class PersonService {
      // @param id El ID de la persona que se desea obtener.
      // @return El objeto Person correspondiente al ID, o null si no se encuentra.
      */
+    @Cacheable(cacheNames = CacheConfig.PERSONS_CACHE, key = "#id", unless = "#result == null")
+    @Transactional(readOnly = true)
+    @Timed(value = "person.service", extraTags = {"operation", "getPersonById"}, histogram = true)
     public Person getPersonById(Long id) {
-        logger.info("Obteniendo persona con ID: {}", id);
-        return personRepository.findById(id).orElse(null);
+        logger.debug("Obteniendo persona con ID: {}", id);
+        Person person = personRepository.findById(id).orElse(null);
+        if (person != null) {
+            // Si la persona viene de la caché de segundo nivel, el grafo de entidad no se aplica
+            // y la dirección queda como proxy; se inicializa aquí (normalmente también desde la caché).
+            Hibernate.initialize(person.getAddress());
+        }
+        return person;
+    }
+
+    /**
+     * Obtiene todas las personas con solo los campos indicados ({@code fields=}), ordenadas por ID.
+     * Se consultan únicamente esas columnas, sin cargar entidades.
+     * @param fields Campos a obtener.
+     * @return Lista de proyecciones de las personas.
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "person.service", extraTags = {"operation", "getAllPersonViews"}, histogram = true)
+    public List<PersonView> getPersonViews(Set<PersonField> fields) {
+        return personRepository.findAllViews(fields);
+    }
+
+    /**
+     * Obtiene una página de personas con solo los campos indicados, ordenadas por ID.
+     * @param fields   Campos a obtener.
+     * @param pageable Página y tamaño.
+     * @return Una página de proyecciones de las personas.
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "person.service", extraTags = {"operation", "getAllPersonViewsPaged"}, histogram = true)
+    public Page<PersonView> getPersonViews(Set<PersonField> fields, Pageable pageable) {
+        return personRepository.findAllViews(fields, pageable);
     }
 
     /**
-     * Guarda una nueva persona o actualiza una existente en la base de datos.
+     * Obtiene una persona por su ID con solo los campos indicados.
+     * No usa la caché de personas, que guarda entidades completas.
+     * @param id     El ID de la persona.
+     * @param fields Campos a obtener.
+     * @return La proyección de la persona, o null si no se encuentra.
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "person.service", extraTags = {"operation", "getPersonViewById"}, histogram = true)
+    public PersonView getPersonView(Long id, Set<PersonField> fields) {
+        return personRepository.findViewById(id, fields).orElse(null);
+    }
+
+    /**
+     * Obtiene las versiones de una persona y de su dirección, que forman su ETag.
+     * Es una consulta por clave primaria de dos columnas, sin cargar la entidad ni su dirección.
+     * Con réplica de lectura se consulta en ella; las escrituras vuelven a comprobar la versión en el
+     * primario dentro de su transacción, de modo que una réplica atrasada solo puede producir un 412.
+     * @param id El ID de la persona.
+     * @return Las versiones de la persona, o null si no se encuentra.
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "person.service", extraTags = {"operation", "getPersonVersion"}, histogram = true)
+    public PersonVersion getPersonVersion(Long id) {
+        return personRepository.findVersionById(id).orElse(null);
+    }
+
+    /**
+     * Guarda una nueva persona en la base de datos.
+     * La persona guardada reemplaza la entrada de la caché una vez confirmada la escritura.
      //@param person El objeto Person que se desea guardar.
-     //@return El objeto Person guardado o actualizado.
+     //@return El objeto Person guardado.
+     //@throws DuplicateEmailException Si ya existe una persona con el mismo correo.
      */
+    @CachePut(cacheNames = CacheConfig.PERSONS_CACHE, key = "#result.id")
+    @Transactional
+    @Timed(value = "person.service", extraTags = {"operation", "savePerson"}, histogram = true)
     public Person savePerson(Person person) {
-        logger.info("Guardando nueva persona: {}", person.getName());
-        return personRepository.save(person);
+        logger.debug("Guardando nueva persona: {}", person.getName());
+        // Los IDs recibidos se ignoran: una entidad versionada sin versión siempre se inserta
+        person.setId(null);
+        if (person.getAddress() != null) {
+            person.getAddress().setId(null);
+        }
+        if (personEmailFilter.isTaken(person.getEmailAddress())) {
+            throw DuplicateEmailException.INSTANCE;
+        }
+        personEmailFilter.add(person.getEmailAddress());
+        Person saved = personRepository.save(person);
+        personChangeService.record(saved.getId(), PersonChange.Type.UPSERT, null, PersonChangeEvent.cityOf(saved));
+        return saved;
+    }
+
+    /**
+     * Actualiza los datos de una persona existente.
+     * Lee la persona desde la base de datos (no desde la caché, para no modificar la instancia compartida)
+     * y reemplaza la entrada de la caché con el resultado. La dirección existente se modifica en su lugar
+     * y el UPDATE solo incluye las columnas que cambiaron. Si otra escritura modifica la persona antes de
+     * confirmar, Hibernate lo detecta por la versión y la actualización falla en lugar de sobrescribirla.
+     // @param id El ID de la persona que se desea actualizar.
+     // @param personDetails Los nuevos datos de la persona.
+     // @param expectedVersion Versión que el cliente espera modificar (If-Match), o null para no comprobarla.
+     // @return El objeto Person actualizado, o null si no se encuentra.
+     // @throws ObjectOptimisticLockingFailureException Si la persona no está en la versión esperada.
+     // @throws DuplicateEmailException Si el nuevo correo ya pertenece a otra persona.
+     */
+    @CachePut(cacheNames = CacheConfig.PERSONS_CACHE, key = "#id", unless = "#result == null")
+    @Transactional
+    @Timed(value = "person.service", extraTags = {"operation", "updatePerson"}, histogram = true)
+    public Person updatePerson(Long id, Person personDetails, PersonVersion expectedVersion) {
+        logger.debug("Actualizando persona con ID: {}", id);
+        Person person = personRepository.findById(id).orElse(null);
+        if (person == null) {
+            return null;
+        }
+        checkVersion(person, expectedVersion);
+        checkEmail(person, personDetails.getEmailAddress());
+        String cityBefore = PersonChangeEvent.cityOf(person);
+        PersonDetails.apply(person, personDetails);
+        personChangeService.record(id, PersonChange.Type.UPSERT, cityBefore, PersonChangeEvent.cityOf(person));
+        return person;
+    }
+
+    /**
+     * Actualiza parcialmente una persona con un documento JSON Merge Patch (RFC 7396).
+     * El parche se aplica sobre la representación JSON actual y el resultado se valida igual que en
+     * una actualización completa. Después se copia sobre la entidad gestionada, de modo que el UPDATE
+     * solo incluye las columnas que cambiaron y la dirección existente se modifica en su lugar.
+     // @param id El ID de la persona que se desea actualizar.
+     // @param patch Documento merge patch, por ejemplo {"address": {"city": "Quito"}}.
+     // @param expectedVersion Versión que el cliente espera modificar (If-Match), o null para no comprobarla.
+     // @return El objeto Person actualizado, o null si no se encuentra.
+     // @throws ConstraintViolationException Si la persona resultante no es válida.
+     // @throws ObjectOptimisticLockingFailureException Si la persona no está en la versión esperada.
+     // @throws DuplicateEmailException Si el nuevo correo ya pertenece a otra persona.
+     */
+    @CachePut(cacheNames = CacheConfig.PERSONS_CACHE, key = "#id", unless = "#result == null")
+    @Transactional
+    @Timed(value = "person.service", extraTags = {"operation", "patchPerson"}, histogram = true)
+    public Person patchPerson(Long id, JsonNode patch, PersonVersion expectedVersion) throws JsonProcessingException {
+        logger.debug("Actualizando parcialmente persona con ID: {}", id);
+        Person person = personRepository.findById(id).orElse(null);
+        if (person == null) {
+            return null;
+        }
+        checkVersion(person, expectedVersion);
+
+        JsonNode patched = JsonMergePatch.apply(objectMapper.valueToTree(person), patch);
+        Person personDetails = objectMapper.treeToValue(patched, Person.class);
+        Set<ConstraintViolation<Person>> violations = validator.validate(personDetails);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        checkEmail(person, personDetails.getEmailAddress());
+        String cityBefore = PersonChangeEvent.cityOf(person);
+        PersonDetails.apply(person, personDetails);
+        personChangeService.record(id, PersonChange.Type.UPSERT, cityBefore, PersonChangeEvent.cityOf(person));
+        return person;
     }
 
     /**
      // Elimina una persona de la base de datos según su ID.
      // @param id El ID de la persona que se desea eliminar.
+     // @param expectedVersion Versión que el cliente espera eliminar (If-Match), o null para no comprobarla.
+     // @throws PersonNotFoundException Si la persona no existe.
+     // @throws ObjectOptimisticLockingFailureException Si la persona no está en la versión esperada.
+     */
+    @CacheEvict(cacheNames = CacheConfig.PERSONS_CACHE, key = "#id")
+    @Transactional
+    @Timed(value = "person.service", extraTags = {"operation", "deletePerson"}, histogram = true)
+    public void deletePerson(Long id, PersonVersion expectedVersion) {
+        logger.debug("Eliminando persona con ID: {}", id);
+        Person person = personRepository.findById(id).orElseThrow(() -> PersonNotFoundException.INSTANCE);
+        checkVersion(person, expectedVersion);
+        String cityBefore = PersonChangeEvent.cityOf(person);
+        personRepository.delete(person);
+        personChangeService.record(id, PersonChange.Type.DELETE, cityBefore, null);
+    }
+
+    // Rechaza el nuevo correo si ya pertenece a otra persona y, si no, lo registra en el filtro.
+    private void checkEmail(Person person, String emailAddress) {
+        if (emailAddress == null || (person.getEmailAddress() != null
+                && PersonEmailFilter.normalize(person.getEmailAddress()).equals(PersonEmailFilter.normalize(emailAddress)))) {
+            return;
+        }
+        if (personEmailFilter.isTaken(emailAddress)) {
+            throw DuplicateEmailException.INSTANCE;
+        }
+        personEmailFilter.add(emailAddress);
+    }
+
+    // Comprueba, dentro de la transacción, que la persona leída sigue en la versión que validó el controlador.
+    private static void checkVersion(Person person, PersonVersion expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(PersonVersion.of(person))) {
+            throw new ObjectOptimisticLockingFailureException(Person.class, person.getId());
+        }
+    }
+
+    /**
+     * Exporta todas las personas escribiéndolas en la salida a medida que se leen de la base de datos.
+     * El contexto de persistencia se vacía cada {@code crud.export.clear-every} filas, de modo que
+     * el consumo de memoria no depende del tamaño de la tabla.
+     *
+     * @param format Formato de salida (NDJSON o arreglo JSON).
+     * @param out    Flujo de salida de la respuesta; no se cierra al terminar.
+     * @return El número de personas exportadas.
+     * @throws IOException Si falla la escritura en la salida.
      */
-    public void deletePerson(Long id) {
-        logger.info("Eliminando persona con ID: {}", id);
-        personRepository.deleteById(id);
+    @Transactional(readOnly = true)
+    @Timed(value = "person.service", extraTags = {"operation", "exportPersons"}, histogram = true)
+    public long exportPersons(PersonExportFormat format, OutputStream out) throws IOException {
+        logger.debug("Exportando todas las personas en formato {}", format);
+        long count = 0;
+        try (Stream<Person> persons = personRepository.streamAll();
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            if (format == PersonExportFormat.JSON) {
+                generator.writeStartArray();
+            }
+            Iterator<Person> iterator = persons.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(iterator.next());
+                if (format == PersonExportFormat.NDJSON) {
+                    generator.writeRaw('\n');
+                }
+                if (++count % exportClearEvery == 0) {
+                    entityManager.clear();
+                    generator.flush();
+                }
+            }
+            if (format == PersonExportFormat.JSON) {
+                generator.writeEndArray();
+            }
+        }
+        logger.debug("Exportación finalizada: {} personas", count);
+        return count;
     }
 }
@@ -0,0 +1,64 @@
+package crud.service;
+
+import crud.exception.InvalidSortException;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Campos por los que puede ordenarse la búsqueda de personas, con su ruta en la entidad.
+ * Limitar el orden a esta lista evita que el cliente ordene por columnas arbitrarias.
+ */
+public enum PersonSortField {
+
+    ID("id"),
+    NAME("name"),
+    EMAIL("emailAddress"),
+    PHONE("phoneNumber"),
+    CITY("address.city");
+
+    private final String property;
+
+    PersonSortField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Convierte el parámetro de orden en un Sort. Cada elemento es el nombre de un campo,
+     * precedido de "-" para orden descendente (por ejemplo "city,-name").
+     * Si no se ordena por ID, se agrega al final para que la paginación sea estable.
+     *
+     * @param values Campos recibidos, en orden de prioridad.
+     * @return El orden correspondiente.
+     * @throws InvalidSortException Si algún campo no está permitido.
+     */
+    public static Sort toSort(List<String> values) {
+        List<Sort.Order> orders = new ArrayList<>(values.size() + 1);
+        boolean byId = false;
+        for (String value : values) {
+            String field = value.trim();
+            boolean descending = field.startsWith("-");
+            if (descending) {
+                field = field.substring(1);
+            }
+            PersonSortField sortField;
+            try {
+                sortField = valueOf(field.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidSortException(value);
+            }
+            byId |= sortField == ID;
+            orders.add(descending ? Sort.Order.desc(sortField.property) : Sort.Order.asc(sortField.property));
+        }
+        if (!byId) {
+            orders.add(Sort.Order.asc(ID.property));
+        }
+        return Sort.by(orders);
+    }
+}
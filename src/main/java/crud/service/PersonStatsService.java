@@ -0,0 +1,173 @@
+package crud.service;
+
+import crud.dto.CityCount;
+import crud.dto.PersonStats;
+import crud.repository.PersonRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Estadísticas de personas (total y por ciudad) mantenidas en memoria.
+ * <p>
+ * Los contadores ({@link LongAdder}, sin contención entre escrituras concurrentes) se actualizan con cada
+ * {@link PersonChangeEvent} confirmado, así que leerlas no consulta la base de datos. Los cambios hechos fuera
+ * de la API, o los eventos que se pierdan, se corrigen con un GROUP BY periódico
+ * ({@code crud.stats.reconcile-interval}) que reemplaza los contadores.
+ * <p>
+ * Los cambios confirmados mientras se ejecuta el GROUP BY se guardan aparte y se aplican sobre su resultado:
+ * si la consulta ya los incluía se cuentan dos veces, hasta la siguiente reconciliación.
+ */
+@Service
+public class PersonStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersonStatsService.class);
+
+    private final PersonRepository personRepository;
+    private final Counter corrections;
+
+    // Los eventos toman el bloqueo de lectura (pueden aplicarse en paralelo); el reemplazo, el de escritura
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Counters counters = new Counters();
+    // Cambios confirmados durante la reconciliación en curso, o null si no hay ninguna
+    private volatile List<PersonChangeEvent> pending;
+    private volatile Instant reconciledAt;
+
+    public PersonStatsService(PersonRepository personRepository, MeterRegistry meterRegistry) {
+        this.personRepository = personRepository;
+        this.corrections = Counter.builder("person.stats.corrections")
+                .description("Reconciliaciones en las que los contadores no coincidían con la base de datos")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Obtiene las estadísticas actuales.
+     *
+     * @return El total y el número de personas por ciudad.
+     */
+    @Timed(value = "person.service", extraTags = {"operation", "getStats"}, histogram = true)
+    public PersonStats getStats() {
+        if (reconciledAt == null) {
+            reconcile();
+        }
+        Counters current = counters;
+        Map<String, Long> byCity = new TreeMap<>();
+        current.byCity.forEach((city, count) -> {
+            long value = count.sum();
+            if (value > 0 && !city.equals(PersonChangeEvent.NO_CITY)) {
+                byCity.put(city, value);
+            }
+        });
+        LongAdder withoutCity = current.byCity.get(PersonChangeEvent.NO_CITY);
+        return new PersonStats(current.total.sum(), byCity,
+                withoutCity != null ? withoutCity.sum() : 0, reconciledAt);
+    }
+
+    /**
+     * Aplica un cambio confirmado a los contadores.
+     *
+     * @param event Cambio confirmado.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChange(PersonChangeEvent event) {
+        lock.readLock().lock();
+        try {
+            counters.apply(event);
+            List<PersonChangeEvent> during = pending;
+            if (during != null) {
+                during.add(event);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recalcula los contadores con un GROUP BY y reemplaza los actuales.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${crud.stats.reconcile-interval:5m}",
+            initialDelayString = "${crud.stats.reconcile-interval:5m}")
+    public synchronized void reconcile() {
+        pending = Collections.synchronizedList(new ArrayList<>());
+        List<CityCount> counts;
+        try {
+            counts = personRepository.countByCity();
+        } catch (RuntimeException e) {
+            pending = null;
+            throw e;
+        }
+
+        Counters fresh = new Counters();
+        for (CityCount count : counts) {
+            String city = count.city() != null ? count.city() : PersonChangeEvent.NO_CITY;
+            fresh.byCity.computeIfAbsent(city, key -> new LongAdder()).add(count.count());
+            fresh.total.add(count.count());
+        }
+
+        lock.writeLock().lock();
+        try {
+            pending.forEach(fresh::apply);
+            pending = null;
+            if (reconciledAt != null && !fresh.snapshot().equals(counters.snapshot())) {
+                logger.info("Estadísticas de personas corregidas: {} -> {}", counters.snapshot(), fresh.snapshot());
+                corrections.increment();
+            }
+            counters = fresh;
+            reconciledAt = Instant.now();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static final class Counters {
+
+        private final LongAdder total = new LongAdder();
+        private final ConcurrentHashMap<String, LongAdder> byCity = new ConcurrentHashMap<>();
+
+        void apply(PersonChangeEvent event) {
+            if (event.cityBefore() != null && event.cityBefore().equals(event.cityAfter())) {
+                return;
+            }
+            if (event.cityBefore() != null) {
+                byCity.computeIfAbsent(event.cityBefore(), city -> new LongAdder()).decrement();
+                total.decrement();
+            }
+            if (event.cityAfter() != null) {
+                byCity.computeIfAbsent(event.cityAfter(), city -> new LongAdder()).increment();
+                total.increment();
+            }
+        }
+
+        // Valores actuales sin las ciudades vacías, para comparar dos contadores
+        Map<String, Long> snapshot() {
+            Map<String, Long> values = new TreeMap<>();
+            byCity.forEach((city, count) -> {
+                long value = count.sum();
+                if (value != 0) {
+                    values.put(city, value);
+                }
+            });
+            return values;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package crud.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import crud.dto.BulkItemResult;
+import crud.dto.BulkResult;
+import crud.dto.WriteStatus;
+import crud.exception.WriteQueueFullException;
+import crud.model.Person;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cola de escritura diferida (write-behind) para altas y actualizaciones con {@code Prefer: respond-async}.
+ * <p>
+ * El controlador valida la persona, la encola y responde 202 con una URL de estado, sin esperar a la base.
+ * Un único hilo vacía la cola por lotes ({@code crud.write-behind.batch-size}), opcionalmente esperando
+ * {@code crud.write-behind.linger} para juntar más escrituras, y los persiste con PersonBulkService
+ * (JDBC batching, un bloque por transacción). Las actualizaciones de un mismo ID dentro de un lote se
+ * combinan: solo se aplica la última, y todas las escrituras combinadas reciben su resultado.
+ * <p>
+ * La cola es acotada ({@code crud.write-behind.capacity}): cuando está llena la escritura se rechaza con
+ * 503 y Retry-After en lugar de acumular memoria. Las escrituras solo están en memoria hasta persistirse:
+ * al detener la aplicación se vacía la cola ({@code crud.write-behind.shutdown-timeout}), pero una caída
+ * del proceso pierde las escrituras pendientes (ver README, "Escrituras asíncronas").
+ */
+@Service
+@ConditionalOnProperty(name = "crud.write-behind.enabled", havingValue = "true")
+public class PersonWriteQueue implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersonWriteQueue.class);
+
+    private final PersonBulkService personBulkService;
+    private final BlockingQueue<PendingWrite> queue;
+    private final Cache<UUID, WriteStatus> statuses;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final long retryAfterSeconds;
+    private final Duration shutdownTimeout;
+    private final Counter rejected;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public PersonWriteQueue(PersonBulkService personBulkService,
+                            MeterRegistry meterRegistry,
+                            @Value("${crud.write-behind.capacity:10000}") int capacity,
+                            @Value("${crud.write-behind.batch-size:500}") int batchSize,
+                            @Value("${crud.write-behind.linger:0ms}") Duration linger,
+                            @Value("${crud.write-behind.retry-after-seconds:1}") long retryAfterSeconds,
+                            @Value("${crud.write-behind.status-ttl:10m}") Duration statusTtl,
+                            @Value("${crud.write-behind.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        this.personBulkService = personBulkService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.statuses = Caffeine.newBuilder()
+                .expireAfterWrite(statusTtl)
+                .maximumSize(capacity * 10L)
+                .build();
+        this.batchSize = batchSize;
+        this.lingerNanos = linger.toNanos();
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.shutdownTimeout = shutdownTimeout;
+        this.rejected = Counter.builder("person.write.queue.rejected")
+                .description("Escrituras asíncronas rechazadas por cola llena")
+                .register(meterRegistry);
+        Gauge.builder("person.write.queue.size", queue, BlockingQueue::size)
+                .description("Escrituras asíncronas pendientes de persistir")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Encola el alta de una persona ya validada.
+     *
+     * @return El estado inicial (PENDING) de la escritura.
+     * @throws WriteQueueFullException Si la cola está llena.
+     */
+    public WriteStatus enqueueCreate(Person person) {
+        return enqueue(new PendingWrite(UUID.randomUUID(), person, false));
+    }
+
+    /**
+     * Encola la actualización de una persona ya validada; {@code details} debe incluir el ID.
+     *
+     * @return El estado inicial (PENDING) de la escritura.
+     * @throws WriteQueueFullException Si la cola está llena.
+     */
+    public WriteStatus enqueueUpdate(Person details) {
+        return enqueue(new PendingWrite(UUID.randomUUID(), details, true));
+    }
+
+    /**
+     * Estado de una escritura, o null si no existe o ya expiró ({@code crud.write-behind.status-ttl}).
+     */
+    public WriteStatus getStatus(UUID ticket) {
+        return statuses.getIfPresent(ticket);
+    }
+
+    private WriteStatus enqueue(PendingWrite write) {
+        WriteStatus status = WriteStatus.pending(write.ticket());
+        statuses.put(write.ticket(), status);
+        if (!running || !queue.offer(write)) {
+            statuses.invalidate(write.ticket());
+            rejected.increment();
+            throw new WriteQueueFullException(retryAfterSeconds);
+        }
+        return status;
+    }
+
+    private void drain() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+                persist(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // PersonBulkService reporta los errores por elemento; esto solo cubre fallos inesperados
+                logger.error("Error al persistir un lote de {} escrituras", batch.size(), e);
+                for (PendingWrite write : batch) {
+                    statuses.put(write.ticket(), WriteStatus.of(write.ticket(),
+                            BulkItemResult.failed(0, write.person().getId(), "Ocurrió un error al guardar la persona.")));
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Completa el lote con lo que ya está en la cola y, si hay linger, con lo que llegue hasta entonces.
+    private void fill(List<PendingWrite> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void persist(List<PendingWrite> batch) {
+        List<PendingWrite> creates = new ArrayList<>();
+        // Última actualización por ID, y las escrituras anteriores que quedan combinadas con ella
+        Map<Long, PendingWrite> updates = new LinkedHashMap<>();
+        Map<Long, List<PendingWrite>> coalesced = new LinkedHashMap<>();
+        for (PendingWrite write : batch) {
+            if (write.update()) {
+                Long id = write.person().getId();
+                updates.put(id, write);
+                coalesced.computeIfAbsent(id, key -> new ArrayList<>()).add(write);
+            } else {
+                creates.add(write);
+            }
+        }
+
+        if (!creates.isEmpty()) {
+            BulkResult result = personBulkService.createPersons(creates.stream().map(PendingWrite::person).toList());
+            for (int i = 0; i < creates.size(); i++) {
+                UUID ticket = creates.get(i).ticket();
+                statuses.put(ticket, WriteStatus.of(ticket, result.items().get(i)));
+            }
+        }
+        if (!updates.isEmpty()) {
+            List<PendingWrite> latest = new ArrayList<>(updates.values());
+            BulkResult result = personBulkService.updatePersons(latest.stream().map(PendingWrite::person).toList());
+            for (int i = 0; i < latest.size(); i++) {
+                BulkItemResult item = result.items().get(i);
+                for (PendingWrite write : coalesced.get(latest.get(i).person().getId())) {
+                    statuses.put(write.ticket(), WriteStatus.of(write.ticket(), item));
+                }
+            }
+        }
+        logger.debug("Lote persistido: {} altas, {} actualizaciones ({} combinadas)",
+                creates.size(), updates.size(), batch.size() - creates.size() - updates.size());
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::drain, "person-write-behind");
+        worker.start();
+    }
+
+    /**
+     * Deja de aceptar escrituras y espera a que se persistan las pendientes.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            worker.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            logger.warn("Se detuvo la aplicación con {} escrituras asíncronas sin persistir", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Fase menor que la del servidor web (que se detiene en {@code SMART_LIFECYCLE_PHASE - 1024}), así que la
+     * cola arranca antes de que se acepten solicitudes y se detiene después: el cierre ordenado del servidor
+     * deja terminar las solicitudes en curso, que todavía pueden encolar escrituras, y recién entonces se vacía
+     * la cola.
+     */
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    }
+
+    private record PendingWrite(UUID ticket, Person person, boolean update) {
+    }
+}
@@ -0,0 +1,142 @@
+package crud.warmup;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import crud.dto.PersonSearchCriteria;
+import crud.exception.PersonNotFoundException;
+import crud.model.Person;
+import crud.service.PersonService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Calentamiento de una instancia nueva antes de recibir tráfico (perfil "fast-start").
+ * Spring Boot reporta la aplicación como lista (readiness ACCEPTING_TRAFFIC) después de ejecutar los
+ * ApplicationRunner, por lo que las primeras solicitudes reales ya no pagan estos costos:
+ * <ul>
+ *     <li>Llena los pools de Hikari hasta su mínimo de conexiones.</li>
+ *     <li>Ejecuta una vez cada consulta de lectura, para que Hibernate interprete el HQL, genere el SQL
+ *     y guarde los planes.</li>
+ *     <li>Carga en la caché de personas los IDs más consultados ({@code crud.warmup.person-ids}).</li>
+ *     <li>Repite solicitudes HTTP a la propia instancia ({@code crud.warmup.paths}), de modo que el JIT
+ *     compile el recorrido completo: Tomcat, Spring MVC, HATEOAS y Jackson.</li>
+ * </ul>
+ * Un fallo en el calentamiento se registra y no impide el arranque; un ID de la lista que ya no existe
+ * solo se omite.
+ */
+@Component
+@ConditionalOnProperty(name = "crud.warmup.enabled", havingValue = "true")
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private final List<HikariDataSource> dataSources;
+    private final PersonService personService;
+    private final ApplicationContext applicationContext;
+    private final List<Long> personIds;
+    private final List<String> paths;
+    private final int iterations;
+
+    public StartupWarmup(List<HikariDataSource> dataSources,
+                         PersonService personService,
+                         ApplicationContext applicationContext,
+                         @Value("${crud.warmup.person-ids:}") List<Long> personIds,
+                         @Value("${crud.warmup.paths:}") List<String> paths,
+                         @Value("${crud.warmup.iterations:100}") int iterations) {
+        this.dataSources = dataSources;
+        this.personService = personService;
+        this.applicationContext = applicationContext;
+        this.personIds = personIds;
+        this.paths = paths;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        int cached = 0;
+        try {
+            for (HikariDataSource dataSource : dataSources) {
+                warmUpConnectionPool(dataSource);
+            }
+            warmUpQueries();
+            cached = warmUpPersonCache();
+            warmUpHttpPaths();
+        } catch (Exception e) {
+            logger.warn("El calentamiento de la instancia falló; se continúa con el arranque", e);
+        }
+        logger.info("Calentamiento terminado en {} ms ({} IDs precargados en la caché, {} rutas x {} solicitudes)",
+                (System.nanoTime() - start) / 1_000_000, cached, paths.size(), iterations);
+    }
+
+    // La primera conexión inicia el pool; Hikari crea el resto en segundo plano hasta minimumIdle.
+    private void warmUpConnectionPool(HikariDataSource dataSource) throws SQLException, InterruptedException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.isValid(1);
+        }
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        long deadline = System.currentTimeMillis() + dataSource.getConnectionTimeout();
+        while (pool.getTotalConnections() < dataSource.getMinimumIdle() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        logger.debug("Pool {}: {} conexiones abiertas", dataSource.getPoolName(), pool.getTotalConnections());
+    }
+
+    private void warmUpQueries() {
+        PageRequest first = PageRequest.of(0, 1);
+        personService.countPersons();
+        personService.getAllPersons(first);
+        personService.getPersonsAfter(0, 1);
+        personService.getPersonVersion(0L);
+        personService.searchPersons(new PersonSearchCriteria("a", "a", "a@example.com", "0000000000", "a"), first);
+    }
+
+    // Un ID que ya no existe (la lista de crud.warmup.person-ids puede quedar desactualizada) no interrumpe
+    // el calentamiento del resto ni el de las rutas HTTP.
+    private int warmUpPersonCache() {
+        int cached = 0;
+        for (Long id : personIds) {
+            Person person;
+            try {
+                person = personService.getPersonById(id);
+            } catch (PersonNotFoundException e) {
+                person = null;
+            }
+            if (person != null) {
+                cached++;
+            } else {
+                logger.debug("La persona {} de crud.warmup.person-ids no existe; se omite", id);
+            }
+        }
+        return cached;
+    }
+
+    private void warmUpHttpPaths() {
+        if (paths.isEmpty()) {
+            return;
+        }
+        if (!(applicationContext instanceof WebServerApplicationContext webContext) || webContext.getWebServer() == null) {
+            logger.debug("Sin servidor web; se omiten las solicitudes de calentamiento");
+            return;
+        }
+        RestClient client = RestClient.create("http://localhost:" + webContext.getWebServer().getPort());
+        for (int i = 0; i < iterations; i++) {
+            for (String path : paths) {
+                client.get().uri(path).retrieve().toBodilessEntity();
+            }
+        }
+    }
+}
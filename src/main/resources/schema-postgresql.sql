@@ -0,0 +1,58 @@
+-- Esquema de PostgreSQL, aplicado al iniciar (spring.sql.init) antes de que Hibernate lo valide
+-- (spring.jpa.hibernate.ddl-auto=validate). Todas las sentencias son idempotentes: sobre una base
+-- vacía crean el esquema completo y sobre una base existente solo agregan lo que falte.
+-- Los cambios de esquema se agregan al final de este archivo, nunca modificando sentencias anteriores.
+
+-- Índices de trigramas para las búsquedas por subcadena (requiere permisos para crear la extensión)
+create extension if not exists pg_trgm;
+
+create sequence if not exists address_seq start with 1 increment by 50;
+create sequence if not exists person_seq start with 1 increment by 50;
+
+create table if not exists address (
+    id     bigint       not null primary key,
+    street varchar(100) not null,
+    city   varchar(50)  not null
+);
+
+-- address_id es único, por lo que el join con address usa el índice de esa restricción
+create table if not exists person (
+    id            bigint       not null primary key,
+    name          varchar(50)  not null,
+    phone_number  varchar(255),
+    email_address varchar(255) not null,
+    address_id    bigint unique references address (id)
+);
+
+-- Búsqueda de personas (/api/persons/search)
+-- Columnas generadas con el valor en minúsculas, para buscar sin distinguir mayúsculas
+-- comparando directamente la columna indexada
+alter table person add column if not exists name_search varchar(50) generated always as (lower(name)) stored;
+alter table person add column if not exists email_search varchar(255) generated always as (lower(email_address)) stored;
+alter table address add column if not exists city_search varchar(50) generated always as (lower(city)) stored;
+
+-- varchar_pattern_ops permite usar el índice B-tree en LIKE 'prefijo%' con cualquier collation
+create index if not exists idx_person_name_search on person (name_search varchar_pattern_ops);
+create index if not exists idx_person_name_search_trgm on person using gin (name_search gin_trgm_ops);
+create index if not exists idx_person_phone_number on person (phone_number);
+create index if not exists idx_address_city_search on address (city_search);
+
+-- Control de concurrencia optimista (@Version) y ETags de /api/persons/{id}
+alter table person add column if not exists version bigint not null default 0;
+alter table address add column if not exists version bigint not null default 0;
+
+-- Registro de cambios de personas (/api/persons/changes): una fila por alta, modificación o eliminación,
+-- numerada con una secuencia creciente que los clientes usan como token de sincronización (since).
+-- Un nextval por cambio (allocationSize = 1): los números siguen el orden de registro también entre
+-- instancias, condición para el margen crud.changes.lag de /api/persons/changes
+create sequence if not exists person_change_seq start with 1 increment by 1;
+create table if not exists person_change (
+    seq         bigint      not null primary key,
+    person_id   bigint      not null,
+    change_type varchar(10) not null,
+    changed_at  timestamp with time zone not null
+);
+
+-- Correo electrónico único sin distinguir mayúsculas (409 al crear o modificar una persona con un correo
+-- existente). También resuelve el filtro email de /api/persons/search.
+create unique index if not exists uq_person_email_search on person (email_search);
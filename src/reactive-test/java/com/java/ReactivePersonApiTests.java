@@ -0,0 +1,159 @@
+package com.java;
+
+import crud.reactive.ReactiveCrudApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica la variante reactiva (WebFlux + R2DBC) sobre H2 en memoria: alta, consulta con ETag
+ * y 304, actualización en su lugar con If-Match, exportación NDJSON, borrado y 409 ante un correo repetido.
+ * Cada escritura queda en person_change, como en la variante MVC.
+ */
+@SpringBootTest(classes = ReactiveCrudApplication.class,
+		properties = "spring.r2dbc.url=r2dbc:h2:mem:///crud-reactive?options=MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureWebTestClient
+@ActiveProfiles({"reactive", "test"})
+class ReactivePersonApiTests {
+
+	private static final String CREATE_BODY = """
+			{"name": "Persona", "phoneNumber": "1234567890", "emailAddress": "persona@example.com",
+			 "address": {"street": "Calle 1", "city": "Ciudad 1"}}""";
+
+	private static final String UPDATE_BODY = """
+			{"name": "Persona", "phoneNumber": "1234567890", "emailAddress": "persona@example.com",
+			 "address": {"street": "Calle 2", "city": "Ciudad 1"}}""";
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Autowired
+	private DatabaseClient databaseClient;
+
+	@Test
+	void createReadUpdateAndDelete() {
+		PersonResponse created = webTestClient.post().uri("/api/persons")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(CREATE_BODY)
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().valueEquals("ETag", "\"0.0\"")
+				.expectBody(PersonResponse.class)
+				.returnResult().getResponseBody();
+		assertThat(created.id()).isNotNull();
+		String uri = "/api/persons/" + created.id();
+
+		webTestClient.get().uri(uri).header("If-None-Match", "\"0.0\"")
+				.exchange()
+				.expectStatus().isNotModified();
+
+		// Solo cambia la calle: la persona conserva su versión y la dirección se actualiza en su lugar
+		webTestClient.put().uri(uri).header("If-Match", "\"0.0\"")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(UPDATE_BODY)
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().valueEquals("ETag", "\"0.1\"")
+				.expectBody()
+				.jsonPath("$.address.id").isEqualTo(created.address().id())
+				.jsonPath("$.address.street").isEqualTo("Calle 2");
+
+		webTestClient.put().uri(uri).header("If-Match", "\"0.0\"")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(UPDATE_BODY)
+				.exchange()
+				.expectStatus().isEqualTo(412);
+
+		webTestClient.get().uri("/api/persons/export?format=ndjson")
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+				.expectBody(String.class)
+				.value(body -> assertThat(body).contains("\"id\":" + created.id()));
+
+		webTestClient.delete().uri(uri)
+				.exchange()
+				.expectStatus().isNoContent();
+		webTestClient.get().uri(uri)
+				.exchange()
+				.expectStatus().isNotFound();
+
+		// El PUT rechazado con 412 no registra nada; los números son consecutivos (un nextval por cambio)
+		List<Change> changes = databaseClient.sql(
+						"select seq, change_type from person_change where person_id = :id order by seq")
+				.bind("id", created.id())
+				.map((row, metadata) -> new Change(row.get("seq", Long.class), row.get("change_type", String.class)))
+				.all()
+				.collectList()
+				.block();
+		assertThat(changes).extracting(Change::type).containsExactly("UPSERT", "UPSERT", "DELETE");
+		assertThat(changes.get(2).seq() - changes.get(0).seq()).isEqualTo(2);
+	}
+
+	@Test
+	void invalidPersonIsRejected() {
+		webTestClient.post().uri("/api/persons")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue("{\"name\": \"\", \"emailAddress\": \"no-es-un-correo\"}")
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectBody()
+				.jsonPath("$.emailAddress").exists();
+	}
+
+	@Test
+	void duplicateEmailIsConflict() {
+		String ana = "{\"name\": \"Ana\", \"emailAddress\": \"ana.reactiva@example.com\"}";
+		String beto = "{\"name\": \"Beto\", \"emailAddress\": \"beto.reactivo@example.com\"}";
+		webTestClient.post().uri("/api/persons")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(ana)
+				.exchange()
+				.expectStatus().isOk();
+		PersonResponse created = webTestClient.post().uri("/api/persons")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(beto)
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(PersonResponse.class)
+				.returnResult().getResponseBody();
+
+		// El índice único no distingue mayúsculas
+		webTestClient.post().uri("/api/persons")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(ana.replace("ana.reactiva", "ANA.Reactiva"))
+				.exchange()
+				.expectStatus().isEqualTo(409)
+				.expectBody()
+				.jsonPath("$.error").isEqualTo("Ya existe una persona con ese correo electrónico");
+
+		webTestClient.put().uri("/api/persons/" + created.id())
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(beto.replace("beto.reactivo", "ana.reactiva"))
+				.exchange()
+				.expectStatus().isEqualTo(409);
+		webTestClient.get().uri("/api/persons/" + created.id())
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.emailAddress").isEqualTo("beto.reactivo@example.com");
+	}
+
+	record Change(long seq, String type) {
+	}
+
+	record PersonResponse(Long id, AddressResponse address) {
+	}
+
+	record AddressResponse(Long id) {
+	}
+}
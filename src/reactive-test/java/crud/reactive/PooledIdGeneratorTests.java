@@ -0,0 +1,110 @@
+package crud.reactive;
+
+import io.r2dbc.spi.ConnectionFactories;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.PooledOptimizer;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que el generador reactivo reserve los mismos bloques que el {@code PooledOptimizer} de Hibernate,
+ * intercalando ambos sobre una misma secuencia: ningún ID se repite entre las dos variantes.
+ */
+class PooledIdGeneratorTests {
+
+	private static final int INCREMENT = 50;
+
+	private final DatabaseClient databaseClient = DatabaseClient.create(ConnectionFactories.get(
+			"r2dbc:h2:mem:///pooled-ids?options=MODE=PostgreSQL;DB_CLOSE_DELAY=-1"));
+
+	@Test
+	void hibernateFirstThenInterleavedBlocksNeverShareAnId() {
+		createSequence("hibernate_first_seq");
+		PooledOptimizer hibernate = hibernateOptimizer();
+		AccessCallback sequence = callback("hibernate_first_seq");
+		PooledIdGenerator reactive = new PooledIdGenerator(databaseClient, "hibernate_first_seq");
+
+		List<Long> hibernateIds = new ArrayList<>();
+		List<Long> reactiveIds = new ArrayList<>();
+		for (int round = 0; round < 4; round++) {
+			for (int i = 0; i < 30 + round * 17; i++) {
+				hibernateIds.add(((Number) hibernate.generate(sequence)).longValue());
+			}
+			for (int i = 0; i < 45 + round * 11; i++) {
+				reactiveIds.add(reactive.nextId().block());
+			}
+		}
+
+		// Primer bloque de Hibernate: 1..51, como documenta PooledOptimizer
+		assertThat(hibernateIds).first().isEqualTo(1L);
+		assertThat(reactiveIds).first().isEqualTo(52L);
+		assertDisjoint(hibernateIds, reactiveIds);
+	}
+
+	@Test
+	void reactiveFirstThenInterleavedBlocksNeverShareAnId() {
+		createSequence("reactive_first_seq");
+		PooledOptimizer hibernate = hibernateOptimizer();
+		AccessCallback sequence = callback("reactive_first_seq");
+		PooledIdGenerator reactive = new PooledIdGenerator(databaseClient, "reactive_first_seq");
+
+		List<Long> hibernateIds = new ArrayList<>();
+		List<Long> reactiveIds = new ArrayList<>();
+		for (int round = 0; round < 4; round++) {
+			for (int i = 0; i < 51 + round * 13; i++) {
+				reactiveIds.add(reactive.nextId().block());
+			}
+			for (int i = 0; i < 20 + round * 23; i++) {
+				hibernateIds.add(((Number) hibernate.generate(sequence)).longValue());
+			}
+		}
+
+		assertThat(reactiveIds.subList(0, 51)).containsExactlyElementsOf(
+				LongStream.rangeClosed(1, 51).boxed().toList());
+		assertDisjoint(hibernateIds, reactiveIds);
+	}
+
+	private static void assertDisjoint(List<Long> hibernateIds, List<Long> reactiveIds) {
+		Set<Long> all = new HashSet<>(hibernateIds);
+		all.addAll(reactiveIds);
+		assertThat(all).hasSize(hibernateIds.size() + reactiveIds.size());
+	}
+
+	private void createSequence(String name) {
+		databaseClient.sql("create sequence " + name + " start with 1 increment by " + INCREMENT).then().block();
+	}
+
+	private static PooledOptimizer hibernateOptimizer() {
+		PooledOptimizer optimizer = new PooledOptimizer(Long.class, INCREMENT);
+		optimizer.injectInitialValue(1);
+		return optimizer;
+	}
+
+	private AccessCallback callback(String name) {
+		return new AccessCallback() {
+			@Override
+			public IntegralDataTypeHolder getNextValue() {
+				long value = databaseClient.sql("select nextval('" + name + "')")
+						.map((row, metadata) -> row.get(0, Long.class))
+						.one()
+						.block();
+				return IdentifierGeneratorHelper.getIntegralDataTypeHolder(Long.class).initialize(value);
+			}
+
+			@Override
+			public String getTenantIdentifier() {
+				return null;
+			}
+		};
+	}
+}
@@ -0,0 +1,55 @@
+package crud.reactive;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Generador de IDs compatible con el optimizador "pooled" que usa Hibernate en la versión JPA.
+ * Cada nextval de la secuencia (incremento de 50) reserva el bloque [valor - 49, valor], igual que
+ * {@code PooledOptimizer}, de modo que ambas variantes pueden insertar en la misma base de datos sin
+ * repetir IDs y solo se consulta la secuencia una vez cada 50 inserciones.
+ */
+final class PooledIdGenerator {
+
+    private static final int INCREMENT = 50;
+    private static final long INITIAL_VALUE = 1;
+
+    private final DatabaseClient databaseClient;
+    private final String sequence;
+
+    // Siguiente ID disponible y límite (exclusivo) del bloque actual
+    private long next;
+    private long limit;
+
+    PooledIdGenerator(DatabaseClient databaseClient, String sequence) {
+        this.databaseClient = databaseClient;
+        this.sequence = sequence;
+    }
+
+    Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            synchronized (this) {
+                if (next < limit) {
+                    return Mono.just(next++);
+                }
+            }
+            // Como Hibernate con el valor inicial: quien obtiene el 1 se queda con [1, siguiente nextval]
+            return nextValue().flatMap(value -> value == INITIAL_VALUE
+                    ? nextValue().map(hi -> startBlock(INITIAL_VALUE, hi))
+                    : Mono.just(startBlock(value - INCREMENT + 1, value)));
+        });
+    }
+
+    // Si dos solicitudes obtienen un bloque a la vez, se descarta el resto del anterior: puede perder IDs, nunca repetirlos.
+    private synchronized long startBlock(long first, long hi) {
+        next = first;
+        limit = hi + 1;
+        return next++;
+    }
+
+    private Mono<Long> nextValue() {
+        return databaseClient.sql("select nextval('" + sequence + "')")
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one();
+    }
+}
@@ -0,0 +1,28 @@
+package crud.reactive;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Punto de entrada de la variante reactiva de la API (WebFlux + R2DBC), con el mismo contrato
+ * básico de /api/persons que la versión Spring MVC + JPA.
+ * <p>
+ * Solo se compila con el perfil de Maven {@code reactive} y siempre arranca con el perfil de Spring
+ * {@code reactive} (application-reactive.properties), que cambia el servidor a Netty y desactiva
+ * el DataSource y JPA. Escanea únicamente el paquete crud.reactive, por lo que los controladores
+ * y servicios de la versión MVC no se cargan; a la inversa, {@code @Profile("reactive")} evita que
+ * CrudApplication cargue esta variante.
+ */
+@SpringBootApplication
+@Profile(ReactiveCrudApplication.PROFILE)
+public class ReactiveCrudApplication {
+
+    public static final String PROFILE = "reactive";
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveCrudApplication.class)
+                .profiles(PROFILE)
+                .run(args);
+    }
+}
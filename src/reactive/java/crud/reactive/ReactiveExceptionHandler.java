@@ -0,0 +1,105 @@
+package crud.reactive;
+
+import crud.exception.DuplicateEmailException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Manejo de errores de la variante reactiva, con el mismo formato de respuesta que
+ * GlobalExceptionHandler y ValidationExceptionHandler.
+ */
+@RestControllerAdvice
+@Profile(ReactiveCrudApplication.PROFILE)
+public class ReactiveExceptionHandler {
+
+    /**
+     * Maneja errores de validación del cuerpo (@Valid): un mensaje por campo y estado 400.
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, String>> handleValidationExceptions(WebExchangeBindException ex) {
+        Map<String, String> errors = new HashMap<>();
+        for (FieldError error : ex.getBindingResult().getFieldErrors()) {
+            errors.put(error.getField(), error.getDefaultMessage());
+        }
+        return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Maneja cuerpos o parámetros que no pueden leerse (JSON mal formado, formato de exportación desconocido).
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<Map<String, String>> handleInputException(ServerWebInputException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", "La solicitud no es válida");
+        errorResponse.put("details", ex.getReason());
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Maneja escrituras sobre una persona que cambió desde que se leyó: 412 si la solicitud
+     * incluía If-Match, o 409 si la modificación concurrente ocurrió sin él.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex,
+                                                                                      ServerWebExchange exchange) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", "La persona fue modificada por otra solicitud");
+        HttpStatus status = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_MATCH) != null
+                ? HttpStatus.PRECONDITION_FAILED
+                : HttpStatus.CONFLICT;
+        return new ResponseEntity<>(errorResponse, status);
+    }
+
+    /**
+     * Maneja escrituras rechazadas por una restricción de la base de datos. Como en GlobalExceptionHandler,
+     * solo la del índice único del correo es un conflicto (409); el resto son errores internos (500).
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Map<String, String>> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        if (isDuplicateEmail(ex)) {
+            errorResponse.put("error", DuplicateEmailException.MESSAGE);
+            return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+        }
+        errorResponse.put("error", "Ocurrió un error interno");
+        errorResponse.put("details", ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    /**
+     * Maneja errores con un estado HTTP explícito (por ejemplo, 404 al validar If-Match).
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<Map<String, String>> handleResponseStatusException(ResponseStatusException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", ex.getReason());
+        return new ResponseEntity<>(errorResponse, ex.getStatusCode());
+    }
+
+    // R2DBC no informa el nombre de la restricción por separado (a diferencia de Hibernate), pero los
+    // controladores de PostgreSQL y H2 lo incluyen en el mensaje, en minúsculas o en mayúsculas
+    private static boolean isDuplicateEmail(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message != null && message.toLowerCase(Locale.ROOT).contains(DuplicateEmailException.CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,141 @@
+package crud.reactive;
+
+import crud.dto.PersonVersion;
+import crud.model.Person;
+import crud.service.PersonExportFormat;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Controlador REST reactivo con el contrato básico de PersonController: listado, exportación,
+ * consulta por ID con ETag, alta, actualización y borrado con If-Match.
+ * Las respuestas son JSON plano, sin enlaces HAL ni los endpoints paginados y de búsqueda.
+ */
+@RestController
+@RequestMapping("/api/persons")
+@Profile(ReactiveCrudApplication.PROFILE)
+public class ReactivePersonController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactivePersonController.class);
+
+    private final ReactivePersonService personService;
+
+    public ReactivePersonController(ReactivePersonService personService) {
+        this.personService = personService;
+    }
+
+    /**
+     * Obtener todas las personas. El arreglo JSON se escribe a medida que se leen las filas.
+     */
+    @GetMapping
+    public Flux<Person> getAllPersons() {
+        logger.debug("Solicitud recibida para obtener todas las personas");
+        return personService.getAllPersons();
+    }
+
+    /**
+     * Exportar todas las personas en streaming (NDJSON o arreglo JSON), con contrapresión
+     * hasta la lectura del cursor en la base de datos.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<Flux<Person>> exportPersons(@RequestParam(defaultValue = "ndjson") PersonExportFormat format) {
+        logger.debug("Solicitud recibida para exportar todas las personas (formato: {})", format);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .body(personService.getAllPersons());
+    }
+
+    /**
+     * Obtener una persona por su ID. Con If-None-Match responde 304 consultando solo las versiones.
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Person>> getPersonById(@PathVariable long id, ServerWebExchange exchange) {
+        logger.debug("Solicitud recibida para obtener la persona con ID: {}", id);
+
+        Mono<ResponseEntity<Person>> notModified = exchange.getRequest().getHeaders().getIfNoneMatch().isEmpty()
+                ? Mono.empty()
+                : personService.getPersonVersion(id)
+                        // 304 Not Modified, ya preparado por checkNotModified
+                        .filter(version -> exchange.checkNotModified(version.toETag()))
+                        .map(version -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).<Person>build());
+
+        return notModified.switchIfEmpty(Mono.defer(() -> personService.getPersonById(id)
+                .map(person -> ResponseEntity.ok()
+                        .eTag(PersonVersion.of(person).toETag())
+                        .body(person))
+                .defaultIfEmpty(ResponseEntity.notFound().build())));
+    }
+
+    /**
+     * Crear una nueva persona.
+     */
+    @PostMapping
+    public Mono<ResponseEntity<Person>> createPerson(@RequestBody @Valid Person person) {
+        logger.debug("Solicitud recibida para crear una nueva persona: {}", person.getName());
+        return personService.savePerson(person)
+                .map(savedPerson -> ResponseEntity.ok()
+                        .eTag(PersonVersion.of(savedPerson).toETag())
+                        .body(savedPerson));
+    }
+
+    /**
+     * Actualizar datos de una persona existente.
+     * Con If-Match, la actualización solo se aplica si la persona sigue en la versión indicada
+     * (412 Precondition Failed en caso contrario).
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Person>> updatePerson(@PathVariable long id,
+                                                     @Valid @RequestBody Person personDetails,
+                                                     ServerWebExchange exchange) {
+        logger.debug("Solicitud recibida para actualizar la persona con ID: {}", id);
+        return expectedVersion(id, exchange)
+                .flatMap(expected -> personService.updatePerson(id, personDetails, expected.orElse(null)))
+                .map(updatedPerson -> ResponseEntity.ok()
+                        .eTag(PersonVersion.of(updatedPerson).toETag())
+                        .body(updatedPerson))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Eliminar una persona por su ID. Admite If-Match igual que PUT.
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deletePerson(@PathVariable long id, ServerWebExchange exchange) {
+        logger.debug("Solicitud recibida para eliminar la persona con ID: {}", id);
+        return expectedVersion(id, exchange)
+                .flatMap(expected -> personService.deletePerson(id, expected.orElse(null)))
+                .map(deleted -> ResponseEntity.noContent().<Void>build())
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Comprueba la cabecera If-Match contra la versión actual de la persona, consultando solo sus versiones.
+     * Emite la versión validada, o un Optional vacío si la solicitud no incluye If-Match.
+     */
+    private Mono<Optional<PersonVersion>> expectedVersion(long id, ServerWebExchange exchange) {
+        if (exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_MATCH) == null) {
+            return Mono.just(Optional.empty());
+        }
+        return personService.getPersonVersion(id)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Persona con ID " + id + " no encontrada")))
+                .flatMap(currentVersion -> exchange.checkNotModified(currentVersion.toETag())
+                        // La versión no coincide: se responde 412 Precondition Failed
+                        ? Mono.error(new OptimisticLockingFailureException(
+                                "La persona con ID " + id + " fue modificada por otra solicitud"))
+                        : Mono.just(Optional.of(currentVersion)));
+    }
+}
@@ -0,0 +1,274 @@
+package crud.reactive;
+
+import crud.dto.PersonVersion;
+import crud.model.Address;
+import crud.model.Person;
+import crud.model.PersonChange;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Acceso reactivo a las personas sobre R2DBC, con las mismas tablas que la versión JPA.
+ * Spring Data R2DBC no gestiona relaciones, por lo que la dirección se lee con un LEFT JOIN
+ * en la misma consulta y se escribe con sentencias propias. Las escrituras respetan la columna
+ * version igual que @Version: el UPDATE exige la versión leída y la incrementa.
+ */
+@Repository
+@Profile(ReactiveCrudApplication.PROFILE)
+public class ReactivePersonRepository {
+
+    private static final String SELECT_PERSON = """
+            select p.id, p.version, p.name, p.phone_number, p.email_address,
+                   a.id as address_id, a.version as address_version, a.street, a.city
+            from person p left join address a on a.id = p.address_id
+            """;
+
+    // Filas pedidas al servidor por cada lectura del cursor al recorrer la tabla completa
+    private static final int FETCH_SIZE = 500;
+
+    private final DatabaseClient databaseClient;
+    private final PooledIdGenerator personIds;
+    private final PooledIdGenerator addressIds;
+
+    public ReactivePersonRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+        this.personIds = new PooledIdGenerator(databaseClient, "person_seq");
+        this.addressIds = new PooledIdGenerator(databaseClient, "address_seq");
+    }
+
+    /**
+     * Recorre todas las personas ordenadas por ID. Las filas se leen del cursor por bloques
+     * a medida que el suscriptor las pide, de modo que un cliente lento frena la lectura.
+     */
+    public Flux<Person> findAll() {
+        return databaseClient.sql(SELECT_PERSON + "order by p.id")
+                .filter((statement, next) -> next.execute(statement.fetchSize(FETCH_SIZE)))
+                .map(ReactivePersonRepository::toPerson)
+                .all();
+    }
+
+    public Mono<Person> findById(long id) {
+        return databaseClient.sql(SELECT_PERSON + "where p.id = :id")
+                .bind("id", id)
+                .map(ReactivePersonRepository::toPerson)
+                .one();
+    }
+
+    /**
+     * Obtiene solo las versiones de la persona y de su dirección, para responder If-None-Match.
+     */
+    public Mono<PersonVersion> findVersionById(long id) {
+        return databaseClient.sql("""
+                        select p.version, a.version as address_version
+                        from person p left join address a on a.id = p.address_id
+                        where p.id = :id""")
+                .bind("id", id)
+                .map((row, metadata) -> new PersonVersion(row.get("version", Long.class),
+                        row.get("address_version", Long.class)))
+                .one();
+    }
+
+    /**
+     * Inserta una persona nueva y su dirección, asignando los IDs y la versión inicial.
+     */
+    public Mono<Person> insert(Person person) {
+        Address address = person.getAddress();
+        Mono<Void> insertAddress = address == null
+                ? Mono.empty()
+                : addressIds.nextId().flatMap(addressId -> {
+                    address.setId(addressId);
+                    address.setVersion(0L);
+                    return insertAddress(address);
+                });
+        return insertAddress
+                .then(personIds.nextId())
+                .flatMap(personId -> {
+                    person.setId(personId);
+                    person.setVersion(0L);
+                    return databaseClient.sql("""
+                                    insert into person (id, version, name, phone_number, email_address, address_id)
+                                    values (:id, 0, :name, :phoneNumber, :emailAddress, :addressId)""")
+                            .bind("id", personId)
+                            .bind("name", person.getName())
+                            .bind("phoneNumber", Parameter.fromOrEmpty(person.getPhoneNumber(), String.class))
+                            .bind("emailAddress", person.getEmailAddress())
+                            .bind("addressId", Parameter.fromOrEmpty(address != null ? address.getId() : null, Long.class))
+                            .then();
+                })
+                .thenReturn(person);
+    }
+
+    /**
+     * Aplica los datos nuevos sobre la persona leída. Solo se escriben las filas que cambiaron,
+     * y la dirección existente se modifica en su lugar (o se elimina si los datos nuevos no tienen).
+     *
+     * @param current Persona tal como se leyó, con sus versiones.
+     * @param details Datos nuevos, ya validados.
+     * @return La persona actualizada, con las versiones incrementadas.
+     * @throws OptimisticLockingFailureException Si alguna fila cambió desde que se leyó.
+     */
+    public Mono<Person> update(Person current, Person details) {
+        Address address = current.getAddress();
+        Address newAddress = details.getAddress();
+
+        Mono<Address> writeAddress;
+        if (newAddress == null) {
+            writeAddress = Mono.empty();
+        } else if (address == null) {
+            writeAddress = addressIds.nextId().flatMap(addressId -> {
+                newAddress.setId(addressId);
+                newAddress.setVersion(0L);
+                return insertAddress(newAddress).thenReturn(newAddress);
+            });
+        } else if (Objects.equals(address.getStreet(), newAddress.getStreet())
+                && Objects.equals(address.getCity(), newAddress.getCity())) {
+            writeAddress = Mono.just(address);
+        } else {
+            writeAddress = databaseClient.sql("""
+                            update address set street = :street, city = :city, version = version + 1
+                            where id = :id and version = :version""")
+                    .bind("street", newAddress.getStreet())
+                    .bind("city", newAddress.getCity())
+                    .bind("id", address.getId())
+                    .bind("version", address.getVersion())
+                    .fetch().rowsUpdated()
+                    .flatMap(rows -> checkUpdated(rows, current.getId()))
+                    .then(Mono.fromSupplier(() -> {
+                        address.setStreet(newAddress.getStreet());
+                        address.setCity(newAddress.getCity());
+                        address.setVersion(address.getVersion() + 1);
+                        return address;
+                    }));
+        }
+
+        return writeAddress
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(written -> {
+                    Address finalAddress = written.orElse(null);
+                    boolean personChanged = !Objects.equals(current.getName(), details.getName())
+                            || !Objects.equals(current.getPhoneNumber(), details.getPhoneNumber())
+                            || !Objects.equals(current.getEmailAddress(), details.getEmailAddress())
+                            || !Objects.equals(addressId(address), addressId(finalAddress));
+                    Mono<Void> writePerson = personChanged
+                            ? updatePersonRow(current, details, finalAddress)
+                            : Mono.empty();
+                    // La dirección anterior se elimina después de desvincularla de la persona
+                    Mono<Void> deleteOldAddress = address != null && finalAddress == null
+                            ? deleteAddress(address.getId())
+                            : Mono.empty();
+                    return writePerson.then(deleteOldAddress).then(Mono.fromSupplier(() -> {
+                        if (personChanged) {
+                            current.setName(details.getName());
+                            current.setPhoneNumber(details.getPhoneNumber());
+                            current.setEmailAddress(details.getEmailAddress());
+                            current.setAddress(finalAddress);
+                            current.setVersion(current.getVersion() + 1);
+                        }
+                        return current;
+                    }));
+                });
+    }
+
+    /**
+     * Elimina la persona leída y su dirección.
+     *
+     * @throws OptimisticLockingFailureException Si la persona cambió desde que se leyó.
+     */
+    public Mono<Void> delete(Person current) {
+        Mono<Void> deletePerson = databaseClient.sql("delete from person where id = :id and version = :version")
+                .bind("id", current.getId())
+                .bind("version", current.getVersion())
+                .fetch().rowsUpdated()
+                .flatMap(rows -> checkUpdated(rows, current.getId()));
+        return current.getAddress() == null
+                ? deletePerson
+                : deletePerson.then(deleteAddress(current.getAddress().getId()));
+    }
+
+    /**
+     * Registra un cambio de la persona en person_change, con las mismas columnas que PersonChange: un nextval
+     * de person_change_seq por cambio, para que /api/persons/changes de la variante MVC también entregue las
+     * escrituras hechas por esta. Debe ejecutarse en la transacción de la escritura.
+     */
+    public Mono<Void> recordChange(long personId, PersonChange.Type type) {
+        return databaseClient.sql("""
+                        insert into person_change (seq, person_id, change_type, changed_at)
+                        values (nextval('person_change_seq'), :personId, :type, :changedAt)""")
+                .bind("personId", personId)
+                .bind("type", type.name())
+                .bind("changedAt", OffsetDateTime.now(ZoneOffset.UTC))
+                .then();
+    }
+
+    private Mono<Void> updatePersonRow(Person current, Person details, Address address) {
+        return databaseClient.sql("""
+                        update person set name = :name, phone_number = :phoneNumber, email_address = :emailAddress,
+                               address_id = :addressId, version = version + 1
+                        where id = :id and version = :version""")
+                .bind("name", details.getName())
+                .bind("phoneNumber", Parameter.fromOrEmpty(details.getPhoneNumber(), String.class))
+                .bind("emailAddress", details.getEmailAddress())
+                .bind("addressId", Parameter.fromOrEmpty(addressId(address), Long.class))
+                .bind("id", current.getId())
+                .bind("version", current.getVersion())
+                .fetch().rowsUpdated()
+                .flatMap(rows -> checkUpdated(rows, current.getId()));
+    }
+
+    private Mono<Void> insertAddress(Address address) {
+        return databaseClient.sql("insert into address (id, version, street, city) values (:id, 0, :street, :city)")
+                .bind("id", address.getId())
+                .bind("street", address.getStreet())
+                .bind("city", address.getCity())
+                .then();
+    }
+
+    private Mono<Void> deleteAddress(long addressId) {
+        return databaseClient.sql("delete from address where id = :id")
+                .bind("id", addressId)
+                .then();
+    }
+
+    private static Mono<Void> checkUpdated(long rows, Long personId) {
+        return rows == 1
+                ? Mono.empty()
+                : Mono.error(new OptimisticLockingFailureException(
+                        "La persona con ID " + personId + " fue modificada por otra solicitud"));
+    }
+
+    private static Long addressId(Address address) {
+        return address != null ? address.getId() : null;
+    }
+
+    private static Person toPerson(Readable row) {
+        Person person = new Person();
+        person.setId(row.get("id", Long.class));
+        person.setVersion(row.get("version", Long.class));
+        person.setName(row.get("name", String.class));
+        person.setPhoneNumber(row.get("phone_number", String.class));
+        person.setEmailAddress(row.get("email_address", String.class));
+
+        Long addressId = row.get("address_id", Long.class);
+        if (addressId != null) {
+            Address address = new Address();
+            address.setId(addressId);
+            address.setVersion(row.get("address_version", Long.class));
+            address.setStreet(row.get("street", String.class));
+            address.setCity(row.get("city", String.class));
+            person.setAddress(address);
+        }
+        return person;
+    }
+}
@@ -0,0 +1,87 @@
+package crud.reactive;
+
+import crud.dto.PersonVersion;
+import crud.model.Person;
+import crud.model.PersonChange;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Lógica de negocio de la variante reactiva. Las operaciones de escritura se ejecutan en una
+ * transacción R2DBC y comprueban la versión esperada (If-Match) antes de escribir, igual que PersonService,
+ * y registran el cambio en person_change en esa misma transacción.
+ */
+@Service
+@Profile(ReactiveCrudApplication.PROFILE)
+public class ReactivePersonService {
+
+    private final ReactivePersonRepository personRepository;
+
+    public ReactivePersonService(ReactivePersonRepository personRepository) {
+        this.personRepository = personRepository;
+    }
+
+    public Flux<Person> getAllPersons() {
+        return personRepository.findAll();
+    }
+
+    public Mono<Person> getPersonById(long id) {
+        return personRepository.findById(id);
+    }
+
+    public Mono<PersonVersion> getPersonVersion(long id) {
+        return personRepository.findVersionById(id);
+    }
+
+    @Transactional
+    public Mono<Person> savePerson(Person person) {
+        // Los IDs los asigna la base de datos, aunque el cliente los envíe
+        person.setId(null);
+        if (person.getAddress() != null) {
+            person.getAddress().setId(null);
+        }
+        return personRepository.insert(person)
+                .flatMap(saved -> personRepository.recordChange(saved.getId(), PersonChange.Type.UPSERT).thenReturn(saved));
+    }
+
+    /**
+     * Actualiza una persona existente.
+     *
+     * @param expected Versión validada con If-Match, o null si el cliente no la indicó.
+     * @return La persona actualizada, o vacío si no existe.
+     */
+    @Transactional
+    public Mono<Person> updatePerson(long id, Person details, PersonVersion expected) {
+        return personRepository.findById(id)
+                .flatMap(current -> checkVersion(current, expected))
+                .flatMap(current -> personRepository.update(current, details))
+                .flatMap(updated -> personRepository.recordChange(id, PersonChange.Type.UPSERT).thenReturn(updated));
+    }
+
+    /**
+     * Elimina una persona existente.
+     *
+     * @param expected Versión validada con If-Match, o null si el cliente no la indicó.
+     * @return true si se eliminó, o vacío si no existe.
+     */
+    @Transactional
+    public Mono<Boolean> deletePerson(long id, PersonVersion expected) {
+        return personRepository.findById(id)
+                .flatMap(current -> checkVersion(current, expected))
+                .flatMap(current -> personRepository.delete(current)
+                        .then(personRepository.recordChange(id, PersonChange.Type.DELETE))
+                        .thenReturn(true));
+    }
+
+    private static Mono<Person> checkVersion(Person current, PersonVersion expected) {
+        if (expected != null && !expected.equals(PersonVersion.of(current))) {
+            return Mono.error(new OptimisticLockingFailureException(
+                    "La persona con ID " + current.getId() + " fue modificada por otra solicitud"));
+        }
+        return Mono.just(current);
+    }
+}
@@ -0,0 +1,21 @@
+package crud.reactive;
+
+import crud.service.PersonExportFormat;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Configuración adicional de Spring WebFlux, equivalente a WebConfig en la variante MVC.
+ */
+@Configuration
+@Profile(ReactiveCrudApplication.PROFILE)
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        // Permite ?format=ndjson o ?format=JSON indistintamente
+        registry.addConverter(String.class, PersonExportFormat.class, PersonExportFormat::fromParameter);
+    }
+}
@@ -0,0 +1,235 @@
+package com.java;
+
+import crud.CrudApplication;
+import crud.ratelimit.AdmissionControlFilter;
+import crud.ratelimit.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica el control de admisión: límites por cliente y endpoint, API keys desconocidas limitadas por IP,
+ * sin límites durante el calentamiento, límite global de concurrencia y que los token buckets no admitan
+ * de más cuando muchos hilos los comparten.
+ */
+@SpringBootTest(classes = CrudApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+		"crud.rate-limit.enabled=true",
+		"crud.rate-limit.api-keys=a,b",
+		"crud.rate-limit.defaults.capacity=2",
+		"crud.rate-limit.defaults.refill-per-second=0.01",
+		"crud.rate-limit.endpoints[0].name=search",
+		"crud.rate-limit.endpoints[0].path=/api/persons/search",
+		"crud.rate-limit.endpoints[0].capacity=1",
+		"crud.rate-limit.endpoints[0].refill-per-second=0.01"
+})
+class AdmissionControlTests {
+
+	private static final int THREADS = 32;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void rejectsWithRetryAfterPerClientAndEndpoint() throws Exception {
+		double rejectedBefore = count("default", "rejected");
+		double searchAdmittedBefore = count("search", "admitted");
+		mockMvc.perform(get("/api/persons/paged").header("X-API-Key", "a")).andExpect(status().isOk());
+		mockMvc.perform(get("/api/persons/paged").header("X-API-Key", "a")).andExpect(status().isOk());
+		mockMvc.perform(get("/api/persons/paged").header("X-API-Key", "a"))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().exists("Retry-After"));
+
+		// Otro cliente, y otra regla para el mismo cliente, tienen su propio bucket
+		mockMvc.perform(get("/api/persons/paged").header("X-API-Key", "b")).andExpect(status().isOk());
+		mockMvc.perform(get("/api/persons/search").header("X-API-Key", "a")).andExpect(status().isOk());
+		mockMvc.perform(get("/api/persons/search").header("X-API-Key", "a")).andExpect(status().isTooManyRequests());
+
+		assertThat(count("default", "rejected")).isEqualTo(rejectedBefore + 1);
+		assertThat(count("search", "admitted")).isEqualTo(searchAdmittedBefore + 1);
+	}
+
+	@Test
+	void unknownApiKeysShareTheBucketOfTheirIp() throws Exception {
+		// Una API key nueva en cada solicitud no da un bucket nuevo: se limita por IP
+		mockMvc.perform(get("/api/persons/paged").header("X-API-Key", "x1").with(ip("10.0.0.1"))).andExpect(status().isOk());
+		mockMvc.perform(get("/api/persons/paged").header("X-API-Key", "x2").with(ip("10.0.0.1"))).andExpect(status().isOk());
+		mockMvc.perform(get("/api/persons/paged").header("X-API-Key", "x3").with(ip("10.0.0.1")))
+				.andExpect(status().isTooManyRequests());
+		mockMvc.perform(get("/api/persons/paged").with(ip("10.0.0.2"))).andExpect(status().isOk());
+	}
+
+	@Test
+	void admitsEverythingUntilTheApplicationIsReady() throws Exception {
+		RateLimitProperties properties = properties(1, 100, Set.of("warmup"));
+		AdmissionControlFilter filter = new AdmissionControlFilter(properties, new SimpleMeterRegistry());
+		AtomicInteger admitted = new AtomicInteger();
+		FilterChain counting = (request, response) -> admitted.incrementAndGet();
+
+		// Como el calentamiento, antes de ApplicationReadyEvent
+		for (int i = 0; i < 10; i++) {
+			filter.doFilter(request("warmup"), new MockHttpServletResponse(), counting);
+		}
+		assertThat(admitted.get()).isEqualTo(10);
+
+		filter.engage();
+		filter.doFilter(request("warmup"), new MockHttpServletResponse(), counting);
+		MockHttpServletResponse rejected = new MockHttpServletResponse();
+		filter.doFilter(request("warmup"), rejected, counting);
+		assertThat(rejected.getStatus()).isEqualTo(429);
+	}
+
+	@Test
+	void sharedBucketAdmitsExactlyItsCapacityUnderContention() throws Exception {
+		AdmissionControlFilter filter = filter(1_000, 1_000);
+		AtomicInteger admitted = new AtomicInteger();
+
+		long elapsedNanos = hammer(THREADS, 2_000, thread -> "shared", filter, admitted);
+
+		assertThat(admitted.get()).isEqualTo(1_000);
+		assertThat(Duration.ofNanos(elapsedNanos)).isLessThan(Duration.ofSeconds(10));
+	}
+
+	@Test
+	void eachClientGetsItsOwnCapacityUnderContention() throws Exception {
+		AdmissionControlFilter filter = filter(100, 1_000);
+		AtomicInteger admitted = new AtomicInteger();
+
+		hammer(THREADS, 500, thread -> "client-" + thread, filter, admitted);
+
+		assertThat(admitted.get()).isEqualTo(THREADS * 100);
+	}
+
+	@Test
+	void rejectsWhenTheConcurrencyLimitIsReached() throws Exception {
+		AdmissionControlFilter filter = filter(100, 2);
+		CountDownLatch inside = new CountDownLatch(2);
+		CountDownLatch release = new CountDownLatch(1);
+		FilterChain blocking = (request, response) -> {
+			inside.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			for (int i = 0; i < 2; i++) {
+				executor.submit(() -> {
+					filter.doFilter(request("slow"), new MockHttpServletResponse(), blocking);
+					return null;
+				});
+			}
+			assertThat(inside.await(5, TimeUnit.SECONDS)).isTrue();
+
+			MockHttpServletResponse rejected = new MockHttpServletResponse();
+			filter.doFilter(request("other"), rejected, (request, response) -> { });
+			assertThat(rejected.getStatus()).isEqualTo(429);
+			assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+		} finally {
+			release.countDown();
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Ejecuta {@code requestsPerThread} solicitudes en cada hilo, todos a la vez, y devuelve el tiempo total.
+	 */
+	private long hammer(int threads, int requestsPerThread, IntFunction<String> apiKey,
+						AdmissionControlFilter filter, AtomicInteger admitted) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		FilterChain counting = (request, response) -> admitted.incrementAndGet();
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				String key = apiKey.apply(t);
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < requestsPerThread; i++) {
+						filter.doFilter(request(key), new MockHttpServletResponse(), counting);
+					}
+					return null;
+				}));
+			}
+			long begin = System.nanoTime();
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+			return System.nanoTime() - begin;
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private static AdmissionControlFilter filter(long capacity, int maxConcurrent) {
+		Set<String> apiKeys = new HashSet<>(List.of("shared", "slow", "other"));
+		for (int thread = 0; thread < THREADS; thread++) {
+			apiKeys.add("client-" + thread);
+		}
+		AdmissionControlFilter filter = new AdmissionControlFilter(properties(capacity, maxConcurrent, apiKeys),
+				new SimpleMeterRegistry());
+		filter.engage();
+		return filter;
+	}
+
+	private static RateLimitProperties properties(long capacity, int maxConcurrent, Set<String> apiKeys) {
+		return new RateLimitProperties("X-API-Key", apiKeys,
+				new RateLimitProperties.Limit(capacity, 0.001), List.of(), maxConcurrent, Duration.ZERO, 429,
+				Duration.ofSeconds(1), Duration.ofMinutes(10), 10_000);
+	}
+
+	private double count(String rule, String outcome) {
+		var counter = meterRegistry.find("crud.admission.requests").tags("rule", rule, "outcome", outcome).counter();
+		return counter == null ? 0 : counter.count();
+	}
+
+	private static RequestPostProcessor ip(String remoteAddr) {
+		return request -> {
+			request.setRemoteAddr(remoteAddr);
+			return request;
+		};
+	}
+
+	private static MockHttpServletRequest request(String apiKey) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/persons/paged");
+		request.addHeader("X-API-Key", apiKey);
+		return request;
+	}
+}
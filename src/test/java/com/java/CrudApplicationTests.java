@@ -1,9 +1,12 @@
 package com.java;
 
+import crud.CrudApplication;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
-@SpringBootTest
+@SpringBootTest(classes = CrudApplication.class)
+@ActiveProfiles("test")
 class CrudApplicationTests {
 
 	@Test
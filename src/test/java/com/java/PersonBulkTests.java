@@ -0,0 +1,173 @@
+package com.java;
+
+import com.jayway.jsonpath.JsonPath;
+import crud.CrudApplication;
+import crud.model.Person;
+import crud.repository.PersonRepository;
+import crud.service.PersonEmailFilter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica las operaciones masivas (/api/persons/bulk): resultado por elemento con elementos válidos e
+ * inválidos mezclados, una transacción por bloque de {@code crud.bulk.chunk-size}, entrada NDJSON y eliminación.
+ */
+@SpringBootTest(classes = CrudApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:crud-bulk;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+		"crud.bulk.chunk-size=2",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+		"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+		"spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+class PersonBulkTests {
+
+	private static final String PERSON_JSON = """
+			{"name": "%s", "emailAddress": "%s", "phoneNumber": "1234567890",
+			 "address": {"street": "Calle 1", "city": "Lima"}}""";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PersonRepository personRepository;
+
+	@Autowired
+	private PersonEmailFilter personEmailFilter;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@BeforeEach
+	void clean() {
+		personRepository.deleteAll();
+		personEmailFilter.rebuild();
+	}
+
+	@Test
+	void reportsEachItemWithValidAndInvalidItemsMixed() throws Exception {
+		mockMvc.perform(post("/api/persons/bulk").contentType(MediaType.APPLICATION_JSON)
+						.content("[" + person("Ana", "ana@example.com") + ","
+								+ person("Beto", "no-es-un-correo") + ","
+								+ "null,"
+								+ person("", "carla@example.com") + ","
+								+ person("Diego", "diego@example.com") + "]"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.total").value(5))
+				.andExpect(jsonPath("$.succeeded").value(2))
+				.andExpect(jsonPath("$.failed").value(3))
+				.andExpect(jsonPath("$.items[0].index").value(0))
+				.andExpect(jsonPath("$.items[0].status").value(201))
+				.andExpect(jsonPath("$.items[0].id").isNumber())
+				.andExpect(jsonPath("$.items[1].status").value(400))
+				.andExpect(jsonPath("$.items[1].errors.emailAddress").exists())
+				.andExpect(jsonPath("$.items[2].status").value(400))
+				.andExpect(jsonPath("$.items[2].errors.person").exists())
+				.andExpect(jsonPath("$.items[3].status").value(400))
+				.andExpect(jsonPath("$.items[3].errors.name").exists())
+				.andExpect(jsonPath("$.items[4].status").value(201));
+
+		assertThat(personRepository.findAll()).extracting(Person::getName).containsExactlyInAnyOrder("Ana", "Diego");
+	}
+
+	@Test
+	void writesEachChunkInItsOwnTransaction() throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		StringBuilder body = new StringBuilder("[");
+		for (int i = 0; i < 5; i++) {
+			body.append(i == 0 ? "" : ",").append(person("Persona " + i, "persona" + i + "@example.com"));
+		}
+		mockMvc.perform(post("/api/persons/bulk").contentType(MediaType.APPLICATION_JSON).content(body.append("]").toString()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.succeeded").value(5))
+				.andExpect(jsonPath("$.items[*].status").value(everyItem(is(201))));
+
+		// 5 elementos en bloques de 2: tres transacciones
+		assertThat(statistics.getTransactionCount()).isEqualTo(3);
+		assertThat(personRepository.count()).isEqualTo(5);
+	}
+
+	@Test
+	void acceptsNdjsonForCreatesAndUpdates() throws Exception {
+		String created = mockMvc.perform(post("/api/persons/bulk").contentType(MediaType.APPLICATION_NDJSON)
+						.content(person("Ana", "ana@example.com") + "\n" + person("Beto", "beto@example.com") + "\n"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items[0].status").value(201))
+				.andExpect(jsonPath("$.items[1].status").value(201))
+				.andReturn().getResponse().getContentAsString();
+		long id = JsonPath.parse(created).read("$.items[0].id", Long.class);
+
+		mockMvc.perform(put("/api/persons/bulk").contentType(MediaType.APPLICATION_NDJSON)
+						.content(withId(id, person("Ana María", "ana@example.com")) + "\n"
+								+ withId(999_999, person("Nadie", "nadie@example.com")) + "\n"
+								+ person("Sin ID", "sinid@example.com")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items[0].status").value(200))
+				.andExpect(jsonPath("$.items[1].status").value(404))
+				.andExpect(jsonPath("$.items[2].status").value(400))
+				.andExpect(jsonPath("$.items[2].errors.id").exists());
+		assertThat(personRepository.findById(id).orElseThrow().getName()).isEqualTo("Ana María");
+
+		// Un documento mal formado rechaza la solicitud completa
+		mockMvc.perform(post("/api/persons/bulk").contentType(MediaType.APPLICATION_NDJSON)
+						.content(person("Carla", "carla@example.com") + "\n{\"name\": "))
+				.andExpect(status().isBadRequest());
+		assertThat(personRepository.count()).isEqualTo(2);
+	}
+
+	@Test
+	void deletesByIdReportingMissingAndNullIds() throws Exception {
+		long first = personRepository.save(entity("primera@example.com")).getId();
+		long second = personRepository.save(entity("segunda@example.com")).getId();
+
+		mockMvc.perform(delete("/api/persons/bulk").contentType(MediaType.APPLICATION_JSON)
+						.content("[" + first + ", 999999, null, " + second + "]"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.succeeded").value(2))
+				.andExpect(jsonPath("$.items[0].status").value(204))
+				.andExpect(jsonPath("$.items[1].status").value(404))
+				.andExpect(jsonPath("$.items[2].status").value(400))
+				.andExpect(jsonPath("$.items[3].status").value(204));
+
+		assertThat(personRepository.count()).isZero();
+	}
+
+	private static String person(String name, String email) {
+		return PERSON_JSON.formatted(name, email).replace("\n", "");
+	}
+
+	private static String withId(long id, String json) {
+		return json.replaceFirst("\\{", "{\"id\": " + id + ", ");
+	}
+
+	private static Person entity(String email) {
+		Person person = new Person();
+		person.setName("Directa");
+		person.setEmailAddress(email);
+		return person;
+	}
+}
@@ -0,0 +1,157 @@
+package com.java;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import crud.CrudApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica la sincronización incremental: deltas con el estado actual o lápidas, paginación con el token
+ * {@code next} y notificaciones por SSE.
+ */
+@SpringBootTest(classes = CrudApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:crud-changes;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+		"crud.changes.lag=0s",
+		"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+		"spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+class PersonChangeFeedTests {
+
+	private static final String PERSON_JSON = """
+			{"name": "%s", "emailAddress": "%s", "phoneNumber": "1234567890",
+			 "address": {"street": "Calle 1", "city": "Ciudad 1"}}""";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void changesContainLatestStateAndTombstones() throws Exception {
+		long since = currentToken();
+
+		long kept = create("Conservada");
+		long removed = create("Eliminada");
+		mockMvc.perform(put("/api/persons/{id}", kept)
+						.contentType(MediaType.APPLICATION_JSON).content(PERSON_JSON.formatted("Modificada", "conservada@example.com")))
+				.andExpect(status().isOk());
+		mockMvc.perform(delete("/api/persons/{id}", removed)).andExpect(status().isNoContent());
+
+		JsonNode result = changes(since, 1000);
+		JsonNode entries = result.get("changes");
+		// Una entrada por persona: su último cambio
+		assertThat(entries).hasSize(2);
+		assertThat(entries.get(0).get("id").asLong()).isEqualTo(kept);
+		assertThat(entries.get(0).get("type").asText()).isEqualTo("UPSERT");
+		assertThat(entries.get(0).get("person").get("name").asText()).isEqualTo("Modificada");
+		assertThat(entries.get(1).get("id").asLong()).isEqualTo(removed);
+		assertThat(entries.get(1).get("type").asText()).isEqualTo("DELETE");
+		assertThat(entries.get(1).has("person")).isFalse();
+		assertThat(result.get("hasMore").asBoolean()).isFalse();
+
+		long next = result.get("next").asLong();
+		JsonNode empty = changes(next, 1000);
+		assertThat(empty.get("changes")).isEmpty();
+		assertThat(empty.get("next").asLong()).isEqualTo(next);
+	}
+
+	@Test
+	void limitPagesThroughChanges() throws Exception {
+		long since = currentToken();
+		long first = create("Primera");
+		long second = create("Segunda");
+		long third = create("Tercera");
+
+		JsonNode page = changes(since, 2);
+		assertThat(ids(page)).containsExactly(first, second);
+		assertThat(page.get("hasMore").asBoolean()).isTrue();
+
+		JsonNode rest = changes(page.get("next").asLong(), 2);
+		assertThat(ids(rest)).containsExactly(third);
+		assertThat(rest.get("hasMore").asBoolean()).isFalse();
+	}
+
+	@Test
+	void changesAreNumberedOneByOneInRecordingOrder() throws Exception {
+		long since = currentToken();
+		create("Uno");
+		create("Dos");
+
+		JsonNode entries = changes(since, 1000).get("changes");
+		// Sin bloques de secuencia: números consecutivos, también entre instancias
+		assertThat(entries.get(1).get("seq").asLong()).isEqualTo(entries.get(0).get("seq").asLong() + 1);
+	}
+
+		@Test
+	void streamNotifiesCommittedChanges() throws Exception {
+		MvcResult stream = mockMvc.perform(get("/api/persons/changes/stream").accept(MediaType.TEXT_EVENT_STREAM))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		long id = create("Notificada");
+
+		String expected = "\"id\":" + id + ",\"type\":\"UPSERT\"";
+		long deadline = System.nanoTime() + 5_000_000_000L;
+		while (!stream.getResponse().getContentAsString().contains(expected) && System.nanoTime() < deadline) {
+			Thread.sleep(20);
+		}
+		String body = stream.getResponse().getContentAsString();
+		assertThat(body).contains("event:person-change").contains(expected);
+	}
+
+	// Token desde el que solo aparecen los cambios hechos por el test
+	private long currentToken() throws Exception {
+		long token = 0;
+		JsonNode page;
+		do {
+			page = changes(token, 1000);
+			token = page.get("next").asLong();
+		} while (page.get("hasMore").asBoolean());
+		return token;
+	}
+
+	private JsonNode changes(long since, int limit) throws Exception {
+		String body = mockMvc.perform(get("/api/persons/changes")
+						.param("since", Long.toString(since)).param("limit", Integer.toString(limit)))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body);
+	}
+
+	private static List<Long> ids(JsonNode changes) {
+		List<Long> ids = new ArrayList<>();
+		changes.get("changes").forEach(entry -> ids.add(entry.get("id").asLong()));
+		return ids;
+	}
+
+	private long create(String name) throws Exception {
+		String body = mockMvc.perform(post("/api/persons")
+						.contentType(MediaType.APPLICATION_JSON).content(PERSON_JSON.formatted(name, name.toLowerCase() + "@example.com")))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body).get("id").asLong();
+	}
+}
@@ -0,0 +1,71 @@
+package com.java;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import crud.CrudApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica que /api/persons/changes retenga los cambios más recientes que {@code crud.changes.lag}, sin
+ * avanzar el token, y los entregue una vez pasado el margen.
+ */
+@SpringBootTest(classes = CrudApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:crud-changes-lag;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+		"crud.changes.lag=1s",
+		"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+		"spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+class PersonChangeLagTests {
+
+	private static final String PERSON_JSON = """
+			{"name": "Reciente", "emailAddress": "reciente@example.com", "phoneNumber": "1234567890",
+			 "address": {"street": "Calle 1", "city": "Ciudad 1"}}""";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void recentChangesAreWithheldUntilTheLagPasses() throws Exception {
+		Thread.sleep(1_100); // cambios anteriores al test, ya fuera del margen
+		long since = changes(0).get("next").asLong();
+
+		String body = mockMvc.perform(post("/api/persons").contentType(MediaType.APPLICATION_JSON).content(PERSON_JSON))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		long id = objectMapper.readTree(body).get("id").asLong();
+
+		JsonNode withheld = changes(since);
+		assertThat(withheld.get("changes")).isEmpty();
+		assertThat(withheld.get("next").asLong()).isEqualTo(since);
+
+		Thread.sleep(1_100);
+		JsonNode delivered = changes(since);
+		assertThat(delivered.get("changes")).hasSize(1);
+		assertThat(delivered.get("changes").get(0).get("id").asLong()).isEqualTo(id);
+	}
+
+	private JsonNode changes(long since) throws Exception {
+		String body = mockMvc.perform(get("/api/persons/changes").param("since", Long.toString(since)))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body);
+	}
+}
@@ -0,0 +1,134 @@
+package com.java;
+
+import crud.CrudApplication;
+import crud.model.Address;
+import crud.model.Person;
+import crud.repository.PersonRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica las peticiones condicionales sobre /api/persons/{id}: ETag derivado de la versión,
+ * 304 con If-None-Match sin cargar la entidad, y 412 con If-Match en PUT y DELETE.
+ */
+@SpringBootTest(classes = CrudApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PersonConditionalRequestTests {
+
+	private static final String UPDATE_BODY = """
+			{"name": "Nuevo nombre", "phoneNumber": "1234567890", "emailAddress": "nuevo@example.com",
+			 "address": {"street": "Calle 2", "city": "Ciudad 2"}}""";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PersonRepository personRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Long id;
+
+	@BeforeEach
+	void seed() {
+		personRepository.deleteAll();
+		Address address = new Address();
+		address.setStreet("Calle 1");
+		address.setCity("Ciudad 1");
+
+		Person person = new Person();
+		person.setName("Persona");
+		person.setPhoneNumber("1234567890");
+		person.setEmailAddress("persona@example.com");
+		person.setAddress(address);
+		id = personRepository.save(person).getId();
+	}
+
+	@Test
+	void getReturnsETagAndNotModifiedWithoutLoadingPerson() throws Exception {
+		String etag = mockMvc.perform(get("/api/persons/" + id))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"0.0\""))
+				.andReturn().getResponse().getHeader("ETag");
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		mockMvc.perform(get("/api/persons/" + id).header("If-None-Match", etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("ETag", etag))
+				.andExpect(content().string(""));
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void getWithStaleETagReturnsPerson() throws Exception {
+		mockMvc.perform(get("/api/persons/" + id).header("If-None-Match", "\"7.0\""))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"0.0\""))
+				.andExpect(jsonPath("$.name").value("Persona"));
+	}
+
+	@Test
+	void putWithCurrentETagUpdatesAndReturnsNewETag() throws Exception {
+		mockMvc.perform(put("/api/persons/" + id).header("If-Match", "\"0.0\"")
+						.contentType(MediaType.APPLICATION_JSON).content(UPDATE_BODY))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"1.1\""))
+				.andExpect(jsonPath("$.version").value(1));
+	}
+
+	@Test
+	void putWithStaleETagIsRejected() throws Exception {
+		mockMvc.perform(put("/api/persons/" + id).contentType(MediaType.APPLICATION_JSON).content(UPDATE_BODY))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(put("/api/persons/" + id).header("If-Match", "\"0.0\"")
+						.contentType(MediaType.APPLICATION_JSON).content(UPDATE_BODY))
+				.andExpect(status().isPreconditionFailed());
+		assertThat(personRepository.findById(id)).get().extracting(Person::getVersion).isEqualTo(1L);
+	}
+
+	@Test
+	void deleteWithStaleETagIsRejected() throws Exception {
+		mockMvc.perform(delete("/api/persons/" + id).header("If-Match", "\"3.0\""))
+				.andExpect(status().isPreconditionFailed());
+		assertThat(personRepository.existsById(id)).isTrue();
+
+		mockMvc.perform(delete("/api/persons/" + id).header("If-Match", "\"0.0\""))
+				.andExpect(status().isNoContent());
+		assertThat(personRepository.existsById(id)).isFalse();
+	}
+
+	@Test
+	void deleteOfMissingPersonIsNotFound() throws Exception {
+		mockMvc.perform(delete("/api/persons/" + id)).andExpect(status().isNoContent());
+
+		mockMvc.perform(delete("/api/persons/" + id))
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.error").value("Persona no encontrada"))
+				.andExpect(jsonPath("$.details").doesNotExist());
+		mockMvc.perform(delete("/api/persons/" + id).header("If-Match", "\"0.0\""))
+				.andExpect(status().isNotFound());
+	}
+}
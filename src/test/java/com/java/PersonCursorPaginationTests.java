@@ -0,0 +1,147 @@
+package com.java;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import crud.CrudApplication;
+import crud.assembler.PersonCursor;
+import crud.exception.InvalidCursorException;
+import crud.model.Person;
+import crud.repository.PersonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica la paginación por cursor (/api/persons/cursor): el enlace next con un cursor opaco que se puede
+ * reenviar tal cual, sin enlace next en la última página, y 400 ante un cursor alterado o un tamaño no positivo.
+ */
+@SpringBootTest(classes = CrudApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:crud-cursor;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+		"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+		"spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+class PersonCursorPaginationTests {
+
+	private static final int PERSONS = 5;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private PersonRepository personRepository;
+
+	private List<Long> ids;
+
+	@BeforeEach
+	void seed() {
+		personRepository.deleteAll();
+		ids = new ArrayList<>();
+		for (int i = 0; i < PERSONS; i++) {
+			Person person = new Person();
+			person.setName("Persona " + i);
+			person.setEmailAddress("persona" + i + "@example.com");
+			ids.add(personRepository.save(person).getId());
+		}
+	}
+
+	@Test
+	void nextLinksWalkEveryPersonOnceAndStopAtTheLastPage() throws Exception {
+		List<Long> seen = new ArrayList<>();
+		List<Integer> pageSizes = new ArrayList<>();
+		String url = "/api/persons/cursor?size=2";
+		while (url != null) {
+			JsonNode page = read(url);
+			List<Long> pageIds = ids(page);
+			seen.addAll(pageIds);
+			pageSizes.add(pageIds.size());
+
+			JsonNode next = page.path("_links").path("next");
+			if (next.isMissingNode()) {
+				url = null;
+				continue;
+			}
+			UriComponents link = UriComponentsBuilder.fromUriString(next.get("href").asText()).build();
+			assertThat(link.getPath()).isEqualTo("/api/persons/cursor");
+			assertThat(link.getQueryParams().getFirst("size")).isEqualTo("2");
+			// El cursor apunta a la última persona de la página
+			assertThat(PersonCursor.decode(link.getQueryParams().getFirst("cursor")))
+					.isEqualTo(pageIds.get(pageIds.size() - 1));
+			url = link.getPath() + "?" + link.getQuery();
+		}
+
+		assertThat(seen).containsExactlyElementsOf(ids);
+		assertThat(pageSizes).containsExactly(2, 2, 1);
+	}
+
+	@Test
+	void cursorIsOpaqueAndRoundTrips() {
+		String cursor = PersonCursor.encode(1234L);
+
+		assertThat(cursor).doesNotContain("1234").matches("[A-Za-z0-9_-]+");
+		assertThat(PersonCursor.decode(cursor)).isEqualTo(1234L);
+		assertThat(PersonCursor.decode(null)).isZero();
+	}
+
+	@Test
+	void tamperedCursorIsBadRequest() throws Exception {
+		String wrongPrefix = Base64.getUrlEncoder().withoutPadding()
+				.encodeToString("pk:3".getBytes(StandardCharsets.US_ASCII));
+		String notANumber = Base64.getUrlEncoder().withoutPadding()
+				.encodeToString("id:tres".getBytes(StandardCharsets.US_ASCII));
+
+		for (String cursor : List.of("no es base64!", wrongPrefix, notANumber)) {
+			mockMvc.perform(get("/api/persons/cursor").param("cursor", cursor))
+					.andExpect(status().isBadRequest())
+					.andExpect(jsonPath("$.error").value("Cursor inválido: " + cursor));
+		}
+		assertThatThrownBy(() -> PersonCursor.decode(wrongPrefix)).isInstanceOf(InvalidCursorException.class);
+	}
+
+	@Test
+	void nonPositiveSizeIsBadRequest() throws Exception {
+		for (String size : List.of("0", "-1")) {
+			mockMvc.perform(get("/api/persons/cursor").param("size", size))
+					.andExpect(status().isBadRequest())
+					.andExpect(jsonPath("$.error").value("Tamaño de página inválido: " + size + " (debe ser mayor que 0)"));
+			mockMvc.perform(get("/api/persons/paged").param("size", size))
+					.andExpect(status().isBadRequest());
+		}
+	}
+
+	private JsonNode read(String url) throws Exception {
+		String body = mockMvc.perform(get(url))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body);
+	}
+
+	private static List<Long> ids(JsonNode page) {
+		List<Long> ids = new ArrayList<>();
+		page.path("_embedded").forEach(collection -> collection.forEach(person -> ids.add(person.get("id").asLong())));
+		return ids;
+	}
+}
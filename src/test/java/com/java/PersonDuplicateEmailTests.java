@@ -0,0 +1,204 @@
+package com.java;
+
+import crud.CrudApplication;
+import crud.exception.GlobalExceptionHandler;
+import crud.model.Person;
+import crud.repository.PersonRepository;
+import crud.service.PersonEmailFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica que el correo electrónico es único sin distinguir mayúsculas: 409 en altas, modificaciones y
+ * operaciones masivas (solo para el elemento que lo repite), que otras restricciones no se reportan como
+ * conflicto y que el filtro de correos evita la consulta para los correos nuevos.
+ */
+@SpringBootTest(classes = CrudApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:crud-emails;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+		"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+		"spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+class PersonDuplicateEmailTests {
+
+	private static final String PERSON_JSON = """
+			{"name": "Persona", "emailAddress": "%s", "phoneNumber": "1234567890",
+			 "address": {"street": "Calle 1", "city": "Quito"}}""";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PersonRepository personRepository;
+
+	@Autowired
+	private PersonEmailFilter personEmailFilter;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@BeforeEach
+	void clean() {
+		personRepository.deleteAll();
+		personEmailFilter.rebuild();
+	}
+
+	@Test
+	void duplicateEmailIsConflict() throws Exception {
+		create("ana@example.com").andExpect(status().isOk());
+
+		create("ANA@example.com")
+				.andExpect(status().isConflict())
+				.andExpect(jsonPath("$.error").value("Ya existe una persona con ese correo electrónico"));
+
+		long id = personRepository.save(person("luis@example.com")).getId();
+		mockMvc.perform(put("/api/persons/{id}", id)
+						.contentType(MediaType.APPLICATION_JSON).content(PERSON_JSON.formatted("ana@example.com")))
+				.andExpect(status().isConflict());
+		// Sin cambiar de correo no hay conflicto
+		mockMvc.perform(put("/api/persons/{id}", id)
+						.contentType(MediaType.APPLICATION_JSON).content(PERSON_JSON.formatted("Luis@example.com")))
+				.andExpect(status().isOk());
+
+		// El índice único también protege las escrituras que no pasan por el servicio
+		assertThatThrownBy(() -> personRepository.saveAndFlush(person("Ana@Example.com")))
+				.isInstanceOf(DataIntegrityViolationException.class);
+	}
+
+	@Test
+	void bulkCreateReportsConflictsPerItem() throws Exception {
+		create("ana@example.com").andExpect(status().isOk());
+
+		mockMvc.perform(post("/api/persons/bulk").contentType(MediaType.APPLICATION_JSON)
+						.content("[" + PERSON_JSON.formatted("nueva@example.com") + ","
+								+ PERSON_JSON.formatted("ana@example.com") + ","
+								+ PERSON_JSON.formatted("NUEVA@example.com") + "]"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items[0].status").value(201))
+				.andExpect(jsonPath("$.items[1].status").value(409))
+				.andExpect(jsonPath("$.items[2].status").value(409));
+
+		assertThat(personRepository.count()).isEqualTo(2);
+	}
+
+	@Test
+	void bulkUpdateRejectsEmailsRepeatedInTheRequest() throws Exception {
+		long first = personRepository.save(person("primera@example.com")).getId();
+		long second = personRepository.save(person("segunda@example.com")).getId();
+		long third = personRepository.save(person("tercera@example.com")).getId();
+
+		mockMvc.perform(put("/api/persons/bulk").contentType(MediaType.APPLICATION_JSON)
+						.content("[" + withId(first, "repetida@example.com") + ","
+								+ withId(second, "REPETIDA@example.com") + ","
+								+ withId(third, "tercera.nueva@example.com") + "]"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items[0].status").value(200))
+				.andExpect(jsonPath("$.items[1].status").value(409))
+				.andExpect(jsonPath("$.items[1].id").value(second))
+				.andExpect(jsonPath("$.items[2].status").value(200));
+
+		assertThat(personRepository.findById(second).orElseThrow().getEmailAddress()).isEqualTo("segunda@example.com");
+		assertThat(personRepository.findById(third).orElseThrow().getEmailAddress()).isEqualTo("tercera.nueva@example.com");
+	}
+
+	@Test
+	void bulkWritesRacingTheUniqueIndexOnlyFailTheViolatingItems() throws Exception {
+		// Guardados sin pasar por el servicio, como un alta concurrente u otra instancia: el filtro no los conoce
+		// y el conflicto solo lo detecta el índice único al hacer flush del bloque
+		long existing = personRepository.save(person("elena@example.com")).getId();
+		personEmailFilter.rebuild();
+		personRepository.save(person("concurrente@example.com"));
+
+		mockMvc.perform(post("/api/persons/bulk").contentType(MediaType.APPLICATION_JSON)
+						.content("[" + PERSON_JSON.formatted("antes@example.com") + ","
+								+ PERSON_JSON.formatted("concurrente@example.com") + ","
+								+ PERSON_JSON.formatted("despues@example.com") + "]"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items[0].status").value(201))
+				.andExpect(jsonPath("$.items[1].status").value(409))
+				.andExpect(jsonPath("$.items[1].errors.error").value("Ya existe una persona con ese correo electrónico"))
+				.andExpect(jsonPath("$.items[2].status").value(201));
+
+		personRepository.save(person("otra.concurrente@example.com"));
+		mockMvc.perform(put("/api/persons/bulk").contentType(MediaType.APPLICATION_JSON)
+						.content("[" + withId(existing, "otra.concurrente@example.com") + "]"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items[0].status").value(409))
+				.andExpect(jsonPath("$.items[0].id").value(existing));
+
+		assertThat(personRepository.count()).isEqualTo(5);
+	}
+
+		@Test
+	void onlyTheEmailIndexViolationIsAConflict() {
+		GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+		assertThat(handler.handleDataIntegrityViolationException(violation("PUBLIC.UQ_PERSON_EMAIL_SEARCH")).getStatusCode())
+				.isEqualTo(HttpStatus.CONFLICT);
+		assertThat(handler.handleDataIntegrityViolationException(violation("fk_person_address")).getStatusCode())
+				.isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+		assertThat(handler.handleDataIntegrityViolationException(new DataIntegrityViolationException("sin causa"))
+				.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+	}
+
+		@Test
+	void newEmailsSkipTheLookup() throws Exception {
+		double skipped = lookups("skipped");
+		double queried = lookups("queried");
+
+		for (int i = 0; i < 10; i++) {
+			create("persona" + i + "@example.com").andExpect(status().isOk());
+		}
+
+		assertThat(lookups("skipped") - skipped).isEqualTo(10);
+		assertThat(lookups("queried") - queried).isZero();
+	}
+
+	private ResultActions create(String email) throws Exception {
+		return mockMvc.perform(post("/api/persons")
+				.contentType(MediaType.APPLICATION_JSON).content(PERSON_JSON.formatted(email)));
+	}
+
+	private static String withId(long id, String email) {
+		return PERSON_JSON.formatted(email).replaceFirst("\\{", "{\"id\": " + id + ", ");
+	}
+
+		private double lookups(String result) {
+		return meterRegistry.get("person.email.lookups").tag("result", result).counter().count();
+	}
+
+	private static DataIntegrityViolationException violation(String constraint) {
+		return new DataIntegrityViolationException("violación", new ConstraintViolationException(
+				"violación", new SQLException("violación", "23505"), constraint));
+	}
+
+		private static Person person(String email) {
+		Person person = new Person();
+		person.setName("Directa");
+		person.setEmailAddress(email);
+		return person;
+	}
+}
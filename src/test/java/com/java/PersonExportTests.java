@@ -0,0 +1,153 @@
+package com.java;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import crud.CrudApplication;
+import crud.model.Address;
+import crud.model.Person;
+import crud.repository.PersonRepository;
+import crud.service.PersonService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica la exportación en streaming (/api/persons/export) con más filas que el fetch size (500) y que
+ * {@code crud.export.clear-every}: una persona por línea en NDJSON, un único arreglo en JSON y 400 ante un
+ * formato desconocido. Un {@code crud.export.clear-every} menor que 1 impide arrancar.
+ */
+@SpringBootTest(classes = CrudApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:crud-export;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+		"crud.export.clear-every=100",
+		"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+		"spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+class PersonExportTests {
+
+	private static final int PERSONS = 1_203;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private PersonRepository personRepository;
+
+	private List<Long> ids;
+
+	@BeforeEach
+	void seed() {
+		if (personRepository.count() == PERSONS) {
+			return;
+		}
+		personRepository.deleteAll();
+		List<Person> persons = new ArrayList<>(PERSONS);
+		for (int i = 0; i < PERSONS; i++) {
+			Address address = new Address();
+			address.setStreet("Calle " + i);
+			address.setCity("Ciudad " + (i % 7));
+
+			Person person = new Person();
+			person.setName("Persona " + i);
+			person.setEmailAddress("persona" + i + "@example.com");
+			person.setAddress(address);
+			persons.add(person);
+		}
+		personRepository.saveAll(persons);
+	}
+
+	@BeforeEach
+	void loadIds() {
+		ids = personRepository.findAll().stream().map(Person::getId).sorted().toList();
+	}
+
+	@Test
+	void ndjsonWritesOnePersonPerLine() throws Exception {
+		String body = export("ndjson", MediaType.APPLICATION_NDJSON);
+
+		assertThat(body).endsWith("\n");
+		String[] lines = body.split("\n");
+		assertThat(lines).hasSize(PERSONS);
+		List<Long> exported = new ArrayList<>(PERSONS);
+		for (String line : lines) {
+			JsonNode person = objectMapper.readTree(line);
+			assertThat(person.isObject()).as("línea %s", line).isTrue();
+			assertThat(person.path("address").path("city").asText()).startsWith("Ciudad ");
+			exported.add(person.get("id").asLong());
+		}
+		assertThat(exported).containsExactlyElementsOf(ids);
+	}
+
+	@Test
+	void jsonWritesASingleArray() throws Exception {
+		String body = export("json", MediaType.APPLICATION_JSON);
+
+		JsonNode array = objectMapper.readTree(body);
+		assertThat(array.isArray()).isTrue();
+		assertThat(array).hasSize(PERSONS);
+		List<Long> exported = new ArrayList<>(PERSONS);
+		array.forEach(person -> exported.add(person.get("id").asLong()));
+		assertThat(exported).containsExactlyElementsOf(ids);
+	}
+
+	@Test
+	void formatIsCaseInsensitiveAndDefaultsToNdjson() throws Exception {
+		assertThat(export("JSON", MediaType.APPLICATION_JSON)).startsWith("[");
+		assertThat(export(null, MediaType.APPLICATION_NDJSON).split("\n")).hasSize(PERSONS);
+	}
+
+	@Test
+	void unknownFormatIsBadRequest() throws Exception {
+		mockMvc.perform(get("/api/persons/export").param("format", "xml"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("Valor inválido para el parámetro 'format'"))
+				.andExpect(jsonPath("$.details").value("xml"));
+	}
+
+	@Test
+	void clearEveryBelowOneIsRejected() {
+		for (int clearEvery : new int[] {0, -1}) {
+			assertThatThrownBy(() -> new PersonService(null, null, null, null, null, null, clearEvery))
+					.isInstanceOf(IllegalArgumentException.class)
+					.hasMessageContaining("crud.export.clear-every");
+		}
+	}
+
+	private String export(String format, MediaType expectedType) throws Exception {
+		var builder = get("/api/persons/export");
+		if (format != null) {
+			builder.param("format", format);
+		}
+		MvcResult result = mockMvc.perform(builder)
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		return mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(expectedType))
+				.andReturn().getResponse().getContentAsString();
+	}
+}
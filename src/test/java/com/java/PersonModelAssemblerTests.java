@@ -0,0 +1,99 @@
+package com.java;
+
+import crud.assembler.PersonModelAssembler;
+import crud.model.Address;
+import crud.model.Person;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que el modo de rutas precalculadas del ensamblador genere exactamente
+ * los mismos enlaces que WebMvcLinkBuilder.
+ */
+class PersonModelAssemblerTests {
+
+	private final PersonModelAssembler precomputed = new PersonModelAssembler(true);
+	private final PersonModelAssembler linkBuilder = new PersonModelAssembler(false);
+
+	@BeforeEach
+	void bindRequest() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/crud/api/persons/paged");
+		request.setScheme("https");
+		request.setServerName("api.example.com");
+		request.setServerPort(8443);
+		request.setContextPath("/crud");
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+	}
+
+	@AfterEach
+	void unbindRequest() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void toModelProducesSameLinks() {
+		Person person = person(42L);
+
+		assertThat(hrefs(precomputed.toModel(person).getLinks().toList()))
+				.containsExactlyElementsOf(hrefs(linkBuilder.toModel(person).getLinks().toList()))
+				.contains("self https://api.example.com:8443/crud/api/persons/42");
+	}
+
+	@Test
+	void toPagedModelProducesSameLinks() {
+		PageImpl<Person> page = new PageImpl<>(List.of(person(1L), person(2L), person(3L)), PageRequest.of(1, 3), 20);
+
+		PagedModel<EntityModel<Person>> expected = linkBuilder.toPagedModel(page);
+		PagedModel<EntityModel<Person>> actual = precomputed.toPagedModel(page);
+
+		assertThat(hrefs(actual.getLinks().toList())).isEqualTo(hrefs(expected.getLinks().toList()));
+		List<EntityModel<Person>> expectedContent = List.copyOf(expected.getContent());
+		List<EntityModel<Person>> actualContent = List.copyOf(actual.getContent());
+		assertThat(actualContent).hasSameSizeAs(expectedContent);
+		for (int i = 0; i < expectedContent.size(); i++) {
+			assertThat(hrefs(actualContent.get(i).getLinks().toList()))
+					.isEqualTo(hrefs(expectedContent.get(i).getLinks().toList()));
+		}
+	}
+
+	@Test
+	void linksAreRelativeOutsideOfRequest() {
+		RequestContextHolder.resetRequestAttributes();
+		Person person = person(7L);
+
+		assertThat(hrefs(precomputed.toModel(person).getLinks().toList()))
+				.containsExactlyElementsOf(hrefs(linkBuilder.toModel(person).getLinks().toList()));
+	}
+
+	private static List<String> hrefs(List<Link> links) {
+		return links.stream().map(link -> link.getRel().value() + " " + link.getHref()).toList();
+	}
+
+	private static Person person(Long id) {
+		Address address = new Address();
+		address.setId(id);
+		address.setStreet("Calle " + id);
+		address.setCity("Ciudad");
+
+		Person person = new Person();
+		person.setId(id);
+		person.setName("Persona " + id);
+		person.setPhoneNumber("1234567890");
+		person.setEmailAddress("persona" + id + "@example.com");
+		person.setAddress(address);
+		return person;
+	}
+}
@@ -0,0 +1,126 @@
+package com.java;
+
+import crud.CrudApplication;
+import crud.model.Address;
+import crud.model.Person;
+import crud.model.PersonChange;
+import crud.repository.PersonRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica las actualizaciones parciales (JSON Merge Patch) y que las actualizaciones
+ * modifiquen la dirección existente en lugar de insertar una nueva y dejar la anterior huérfana.
+ */
+@SpringBootTest(classes = CrudApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PersonPatchTests {
+
+	private static final MediaType MERGE_PATCH = MediaType.parseMediaType("application/merge-patch+json");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PersonRepository personRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Long id;
+	private Long addressId;
+
+	@BeforeEach
+	void seed() {
+		personRepository.deleteAll();
+		Address address = new Address();
+		address.setStreet("Calle 1");
+		address.setCity("Ciudad 1");
+
+		Person person = new Person();
+		person.setName("Persona");
+		person.setPhoneNumber("1234567890");
+		person.setEmailAddress("persona@example.com");
+		person.setAddress(address);
+		person = personRepository.save(person);
+		id = person.getId();
+		addressId = person.getAddress().getId();
+	}
+
+	@Test
+	void patchUpdatesOnlyTheAddressInPlace() throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		mockMvc.perform(patch("/api/persons/" + id).contentType(MERGE_PATCH)
+						.content("{\"address\": {\"city\": \"Quito\"}}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.name").value("Persona"))
+				.andExpect(jsonPath("$.address.id").value(addressId))
+				.andExpect(jsonPath("$.address.street").value("Calle 1"))
+				.andExpect(jsonPath("$.address.city").value("Quito"));
+
+		// Solo la dirección cambió: un UPDATE sobre address y ninguno sobre person
+		assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+		// El único INSERT es el del registro de cambios
+		assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+		assertThat(statistics.getEntityStatistics(PersonChange.class.getName()).getInsertCount()).isEqualTo(1);
+	}
+
+	@Test
+	void patchWithNullRemovesOptionalFieldAndAddress() throws Exception {
+		mockMvc.perform(patch("/api/persons/" + id).contentType(MERGE_PATCH)
+						.content("{\"phoneNumber\": null, \"address\": null}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.phoneNumber").doesNotExist())
+				.andExpect(jsonPath("$.address").doesNotExist());
+
+		assertThat(addressCount()).isZero();
+	}
+
+	@Test
+	void patchProducingInvalidPersonIsRejected() throws Exception {
+		mockMvc.perform(patch("/api/persons/" + id).contentType(MERGE_PATCH).content("{\"name\": null}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.name").exists());
+
+		assertThat(personRepository.findById(id)).get().extracting(Person::getName).isEqualTo("Persona");
+	}
+
+	@Test
+	void putKeepsTheSameAddressRow() throws Exception {
+		mockMvc.perform(put("/api/persons/" + id).contentType(MediaType.APPLICATION_JSON)
+						.content("""
+								{"name": "Persona", "phoneNumber": "1234567890", "emailAddress": "persona@example.com",
+								 "address": {"street": "Calle 2", "city": "Ciudad 1"}}"""))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.address.id").value(addressId))
+				.andExpect(jsonPath("$.address.street").value("Calle 2"));
+
+		assertThat(addressCount()).isEqualTo(1);
+	}
+
+	private long addressCount() {
+		return jdbcTemplate.queryForObject("select count(*) from address", Long.class);
+	}
+}
@@ -0,0 +1,148 @@
+package com.java;
+
+import crud.CrudApplication;
+import crud.metrics.SqlStatementsPerRequestFilter;
+import crud.model.Address;
+import crud.model.Person;
+import crud.repository.PersonRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica que los endpoints de lectura no sufran el problema N+1:
+ * el número de sentencias SQL por solicitud debe ser fijo, sin importar cuántas personas haya.
+ * Comprueba también que la métrica de sentencias por solicitud las registre, incluida la exportación asíncrona.
+ */
+@SpringBootTest(classes = CrudApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class PersonQueryCountTests {
+
+	private static final int PERSONS = 25;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PersonRepository personRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void seed() {
+		personRepository.deleteAll();
+		for (int i = 0; i < PERSONS; i++) {
+			Address address = new Address();
+			address.setStreet("Calle " + i);
+			address.setCity("Ciudad " + (i % 5));
+
+			Person person = new Person();
+			person.setName("Persona " + i);
+			person.setPhoneNumber("1234567890");
+			person.setEmailAddress("persona" + i + "@example.com");
+			person.setAddress(address);
+			personRepository.save(person);
+		}
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void listDoesNotLoadAddressesOneByOne() throws Exception {
+		assertStatements("/api/persons", 1);
+	}
+
+	@Test
+	void pagedListUsesOneSelectPlusCount() throws Exception {
+		assertStatements("/api/persons/paged?page=1&size=10", 2);
+	}
+
+	@Test
+	void cursorListUsesSingleSelect() throws Exception {
+		assertStatements("/api/persons/cursor?size=10", 1);
+	}
+
+	@Test
+	void exportUsesSingleSelect() throws Exception {
+		assertStatements("/api/persons/export", 1);
+	}
+
+	@Test
+	void getByIdUsesSingleSelect() throws Exception {
+		Long id = personRepository.findAll().get(0).getId();
+		statistics.clear();
+		assertStatements("/api/persons/" + id, 1);
+	}
+
+	@Test
+	void repeatedGetByIdIsServedFromCache() throws Exception {
+		Long id = personRepository.findAll().get(0).getId();
+		mockMvc.perform(get("/api/persons/" + id)).andExpect(status().isOk());
+		statistics.clear();
+		assertStatements("/api/persons/" + id, 0);
+	}
+
+	@Test
+	void statementsPerRequestAreRecordedPerEndpoint() throws Exception {
+		assertRecordedStatements("/api/persons/paged?page=1&size=10", "/api/persons/paged", 2);
+	}
+
+	@Test
+	void streamingExportStatementsAreRecorded() throws Exception {
+		// La exportación lee en otro hilo (StreamingResponseBody): sus sentencias cuentan para la solicitud
+		assertRecordedStatements("/api/persons/export", "/api/persons/export", 1);
+	}
+
+	// La distribución de la métrica por endpoint recibe una muestra con las sentencias de la solicitud
+	private void assertRecordedStatements(String url, String uri, long statements) throws Exception {
+		DistributionSummary summary = meterRegistry.find(SqlStatementsPerRequestFilter.METRIC)
+				.tags("method", "GET", "uri", uri).summary();
+		long countBefore = summary == null ? 0 : summary.count();
+		double totalBefore = summary == null ? 0 : summary.totalAmount();
+
+		assertStatements(url, statements);
+
+		summary = meterRegistry.get(SqlStatementsPerRequestFilter.METRIC).tags("method", "GET", "uri", uri).summary();
+		assertThat(summary.count()).isEqualTo(countBefore + 1);
+		assertThat(summary.totalAmount() - totalBefore).isEqualTo(statistics.getPrepareStatementCount());
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+	}
+
+		private void assertStatements(String url, long maxStatements) throws Exception {
+		MvcResult result = mockMvc.perform(get(url)).andReturn();
+		if (result.getRequest().isAsyncStarted()) {
+			result = mockMvc.perform(asyncDispatch(result)).andReturn();
+		}
+		status().isOk().match(result);
+		assertThat(statistics.getPrepareStatementCount())
+				.as("sentencias SQL ejecutadas por GET %s", url)
+				.isLessThanOrEqualTo(maxStatements);
+	}
+}
@@ -0,0 +1,138 @@
+package com.java;
+
+import crud.CrudApplication;
+import crud.model.Address;
+import crud.model.Person;
+import crud.repository.PersonRepository;
+import crud.service.PersonService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica la separación de lecturas y escrituras con dos bases H2 en memoria en el papel de
+ * primario y réplica. La réplica no recibe las escrituras, lo que permite comprobar a qué base
+ * llega cada operación.
+ */
+@SpringBootTest(classes = CrudApplication.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:crud-primary;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+		// La réplica crea su esquema al abrir cada conexión (el script es idempotente)
+		"crud.datasource.replica.url=jdbc:h2:mem:crud-replica;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;"
+				+ "INIT=RUNSCRIPT FROM 'classpath:schema-h2.sql'",
+		"crud.datasource.replica.hikari.maximum-pool-size=2",
+		// La caché de segundo nivel (JCache) se comparte entre contextos y ocultaría de qué base se lee
+		"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+		"spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+class PersonReadReplicaTests {
+
+	@Autowired
+	private PersonService personService;
+
+	@Autowired
+	private PersonRepository personRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	@Qualifier("primaryDataSource")
+	private DataSource primaryDataSource;
+
+	@Autowired
+	@Qualifier("replicaDataSource")
+	private DataSource replicaDataSource;
+
+	private JdbcTemplate primary;
+
+	private JdbcTemplate replica;
+
+	@BeforeEach
+	void clean() {
+		primary = new JdbcTemplate(primaryDataSource);
+		replica = new JdbcTemplate(replicaDataSource);
+		primary.update("delete from person");
+		primary.update("delete from address");
+		replica.update("delete from person");
+		replica.update("delete from address");
+	}
+
+	@Test
+	void writesGoToPrimaryAndReadOnlyReadsToReplica() {
+		Person saved = personService.savePerson(newPerson("Primario"));
+		assertThat(primary.queryForObject("select count(*) from person", Long.class)).isEqualTo(1);
+		assertThat(replica.queryForObject("select count(*) from person", Long.class)).isZero();
+
+		// La réplica todavía no tiene la persona
+		assertThat(personService.getAllPersons()).isEmpty();
+		assertThat(personService.countPersons()).isZero();
+
+		// Simula la replicación de la fila
+		replica.update("insert into person (id, version, name, phone_number, email_address) values (?, 0, ?, ?, ?)",
+				saved.getId(), "Replicada", "1234567890", "replicada@example.com");
+		assertThat(personService.getAllPersons()).extracting(Person::getName).containsExactly("Replicada");
+
+		Person details = newPerson("Actualizado");
+		personService.updatePerson(saved.getId(), details, null);
+		assertThat(primary.queryForObject("select name from person where id = ?", String.class, saved.getId()))
+				.isEqualTo("Actualizado");
+		assertThat(replica.queryForObject("select name from person where id = ?", String.class, saved.getId()))
+				.isEqualTo("Replicada");
+	}
+
+	@Test
+	void readOnlyTransactionsLoadEntitiesWithoutDirtyChecking() {
+		personService.savePerson(newPerson("Primario"));
+		replica.update("insert into person (id, version, name, phone_number, email_address) values (1, 0, ?, ?, ?)",
+				"Replicada", "1234567890", "replicada@example.com");
+
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		readOnly.executeWithoutResult(status -> {
+			List<Person> persons = personRepository.findAll();
+			Session session = entityManager.unwrap(Session.class);
+			assertThat(session.isDefaultReadOnly()).isTrue();
+			assertThat(persons).singleElement().satisfies(person -> {
+				assertThat(person.getName()).isEqualTo("Replicada");
+				assertThat(session.isReadOnly(person)).isTrue();
+				// Sin snapshot ni flush: el cambio no llega a ninguna base
+				person.setName("Modificada");
+			});
+		});
+
+		assertThat(replica.queryForObject("select name from person where id = 1", String.class)).isEqualTo("Replicada");
+		assertThat(primary.queryForObject("select name from person", String.class)).isEqualTo("Primario");
+	}
+
+	private static Person newPerson(String name) {
+		Address address = new Address();
+		address.setStreet("Calle 1");
+		address.setCity("Ciudad 1");
+
+		Person person = new Person();
+		person.setName(name);
+		person.setPhoneNumber("1234567890");
+		person.setEmailAddress(name.toLowerCase() + "@example.com");
+		person.setAddress(address);
+		return person;
+	}
+}
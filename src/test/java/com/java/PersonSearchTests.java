@@ -0,0 +1,188 @@
+package com.java;
+
+import crud.CrudApplication;
+import crud.model.Address;
+import crud.model.Person;
+import crud.repository.PersonRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica la búsqueda de personas: los filtros y el orden del endpoint, y que las consultas
+ * que Hibernate genera a partir de las especificaciones (capturadas con un StatementInspector)
+ * se resuelvan con los índices del esquema sobre un conjunto de datos sembrado, en lugar de
+ * recorrer la tabla.
+ */
+@SpringBootTest(classes = CrudApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:crud-search;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+		"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+		"spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@Import(PersonSearchTests.StatementCapture.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PersonSearchTests {
+
+	private static final int FILLER_PERSONS = 2000;
+
+	// Sentencias SQL preparadas por Hibernate, en orden
+	private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PersonRepository personRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// Las pruebas solo leen, por lo que los datos se siembran una vez para toda la clase
+	@BeforeAll
+	void seed() {
+		personRepository.deleteAll();
+		List<Person> persons = new ArrayList<>(FILLER_PERSONS + 4);
+		persons.add(person("Ana María", "ana@example.com", "5550000001", "Quito"));
+		persons.add(person("ANABEL", "anabel@example.com", "5550000002", "Lima"));
+		persons.add(person("Juana", "Juana@Example.com", "5550000003", "quito"));
+		persons.add(person("Pedro_1", "pedro@example.com", "5550000004", "Bogotá"));
+		for (int i = 0; i < FILLER_PERSONS; i++) {
+			persons.add(person("Persona " + i, "persona" + i + "@example.com",
+					String.format("%010d", i), "Ciudad " + (i % 100)));
+		}
+		personRepository.saveAll(persons);
+		jdbcTemplate.execute("analyze");
+	}
+
+	@Test
+	void filtersByNamePrefixIgnoringCase() throws Exception {
+		mockMvc.perform(get("/api/persons/search").param("name", "ana").param("sort", "name"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$._embedded.personList[*].name", contains("ANABEL", "Ana María")))
+				.andExpect(jsonPath("$.page.totalElements").value(2));
+	}
+
+	@Test
+	void filtersByTextAnywhereInName() throws Exception {
+		mockMvc.perform(get("/api/persons/search").param("q", "ANA"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$._embedded.personList[*].name",
+						containsInAnyOrder("Ana María", "ANABEL", "Juana")));
+	}
+
+	@Test
+	void combinesFiltersAndSortsDescending() throws Exception {
+		mockMvc.perform(get("/api/persons/search").param("city", "QUITO").param("sort", "-name"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$._embedded.personList[*].name", contains("Juana", "Ana María")));
+
+		mockMvc.perform(get("/api/persons/search")
+						.param("email", "JUANA@example.COM").param("phone", "5550000003"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$._embedded.personList[*].name", contains("Juana")));
+	}
+
+	@Test
+	void treatsLikeWildcardsLiterally() throws Exception {
+		mockMvc.perform(get("/api/persons/search").param("q", "_"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$._embedded.personList[*].name", contains("Pedro_1")));
+	}
+
+	@Test
+	void rejectsUnknownSortField() throws Exception {
+		mockMvc.perform(get("/api/persons/search").param("sort", "street"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void filtersUseIndexes() throws Exception {
+		assertUsesIndex("name", "Ana", "ana%", "IDX_PERSON_NAME_SEARCH");
+		assertUsesIndex("email", "ANA@example.com", "ana@example.com", "UQ_PERSON_EMAIL_SEARCH");
+		assertUsesIndex("phone", "5550000001", "5550000001", "IDX_PERSON_PHONE_NUMBER");
+		assertUsesIndex("city", "Quito", "quito", "IDX_ADDRESS_CITY_SEARCH");
+	}
+
+	// Explica la consulta que Hibernate genera a partir de PersonSpecifications para el filtro indicado,
+	// con los parámetros que recibe: el valor ya normalizado, el desplazamiento y el tamaño de la página.
+	// Con el parámetro sin valor H2 no puede usar el índice para el LIKE y recorre la clave primaria.
+	private void assertUsesIndex(String filter, String value, Object bound, String index) throws Exception {
+		STATEMENTS.clear();
+		mockMvc.perform(get("/api/persons/search").param(filter, value))
+				.andExpect(status().isOk());
+		String sql = STATEMENTS.stream()
+				.filter(statement -> statement.startsWith("select") && !statement.contains("count("))
+				.findFirst()
+				.orElseThrow();
+		String plan = jdbcTemplate.queryForObject("explain " + sql, String.class, bound, 0, 10);
+		assertThat(plan).as("plan de %s", sql).contains(index);
+	}
+
+	private static Person person(String name, String email, String phone, String city) {
+		Address address = new Address();
+		address.setStreet("Calle 1");
+		address.setCity(city);
+
+		Person person = new Person();
+		person.setName(name);
+		person.setEmailAddress(email);
+		person.setPhoneNumber(phone);
+		person.setAddress(address);
+		return person;
+	}
+
+	/**
+	 * Antepone la captura de sentencias al StatementInspector de la aplicación (el contador de
+	 * sentencias por solicitud), que se sigue invocando. Se aplica sobre las propiedades ya
+	 * resueltas de la fábrica de EntityManager, para no depender del orden de los
+	 * HibernatePropertiesCustomizer.
+	 */
+	@TestConfiguration
+	static class StatementCapture {
+
+		@Bean
+		static BeanPostProcessor statementCapture() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessBeforeInitialization(Object bean, String beanName) {
+					if (bean instanceof LocalContainerEntityManagerFactoryBean factory) {
+						factory.getJpaPropertyMap().compute(AvailableSettings.STATEMENT_INSPECTOR, (key, application) ->
+								(StatementInspector) sql -> {
+									STATEMENTS.add(sql);
+									return application instanceof StatementInspector inspector ? inspector.inspect(sql) : sql;
+								});
+					}
+					return bean;
+				}
+			};
+		}
+	}
+}
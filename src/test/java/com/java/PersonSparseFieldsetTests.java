@@ -0,0 +1,110 @@
+package com.java;
+
+import crud.CrudApplication;
+import crud.model.Address;
+import crud.model.Person;
+import crud.repository.PersonRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica las proyecciones con {@code fields=}: solo se devuelven los campos pedidos
+ * y las personas se leen sin cargar entidades.
+ */
+@SpringBootTest(classes = CrudApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PersonSparseFieldsetTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PersonRepository personRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Long firstId;
+
+	@BeforeEach
+	void seed() {
+		personRepository.deleteAll();
+		for (int i = 0; i < 3; i++) {
+			Person person = new Person();
+			person.setName("Persona " + i);
+			person.setPhoneNumber("1234567890");
+			person.setEmailAddress("persona" + i + "@example.com");
+			if (i > 0) {
+				Address address = new Address();
+				address.setStreet("Calle " + i);
+				address.setCity("Ciudad " + i);
+				person.setAddress(address);
+			}
+			person = personRepository.save(person);
+			if (i == 0) {
+				firstId = person.getId();
+			}
+		}
+	}
+
+	@Test
+	void listReturnsOnlyRequestedFieldsWithoutLoadingEntities() throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		mockMvc.perform(get("/api/persons").param("fields", "name"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(3))
+				.andExpect(jsonPath("$[0].id").value(firstId))
+				.andExpect(jsonPath("$[0].name").value("Persona 0"))
+				.andExpect(jsonPath("$[0].emailAddress").doesNotExist())
+				.andExpect(jsonPath("$[0].address").doesNotExist());
+
+		assertThat(statistics.getEntityLoadCount()).isZero();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void pagedAndByIdIncludeRequestedAddressFields() throws Exception {
+		mockMvc.perform(get("/api/persons/paged").param("fields", "name,address.city").param("size", "2"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$._embedded.personViewList.length()").value(2))
+				.andExpect(jsonPath("$._embedded.personViewList[0].address").doesNotExist())
+				.andExpect(jsonPath("$._embedded.personViewList[1].address.city").value("Ciudad 1"))
+				.andExpect(jsonPath("$._embedded.personViewList[1].address.street").doesNotExist())
+				.andExpect(jsonPath("$._embedded.personViewList[1]._links.self.href").exists())
+				.andExpect(jsonPath("$.page.totalElements").value(3));
+
+		mockMvc.perform(get("/api/persons/" + (firstId + 1)).param("fields", "emailAddress,address"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist("ETag"))
+				.andExpect(jsonPath("$.name").doesNotExist())
+				.andExpect(jsonPath("$.emailAddress").value("persona1@example.com"))
+				.andExpect(jsonPath("$.address.street").value("Calle 1"))
+				.andExpect(jsonPath("$.address.version").value(0));
+	}
+
+	@Test
+	void unknownFieldIsRejected() throws Exception {
+		mockMvc.perform(get("/api/persons").param("fields", "name,password"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("Campo inválido: password"));
+		mockMvc.perform(get("/api/persons/" + firstId + 100).param("fields", "name"))
+				.andExpect(status().isNotFound());
+	}
+}
@@ -0,0 +1,152 @@
+package com.java;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import crud.CrudApplication;
+import crud.dto.CityCount;
+import crud.model.Address;
+import crud.model.Person;
+import crud.repository.PersonRepository;
+import crud.service.PersonStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica que las estadísticas mantenidas en memoria coinciden con un GROUP BY sobre la base de datos
+ * después de altas, modificaciones y eliminaciones, y que la reconciliación corrige los cambios hechos
+ * fuera de la API.
+ */
+@SpringBootTest(classes = CrudApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:crud-stats;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+		"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+		"spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+class PersonStatsTests {
+
+	private static final String PERSON_JSON = """
+			{"name": "Persona", "emailAddress": "persona%d@example.com", "phoneNumber": "1234567890",
+			 "address": {"street": "Calle 1", "city": "%s"}}""";
+
+	private int sequence;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private PersonRepository personRepository;
+
+	@Autowired
+	private PersonStatsService personStatsService;
+
+	@BeforeEach
+	void clean() {
+		personRepository.deleteAll();
+		personStatsService.reconcile();
+	}
+
+	@Test
+	void countersMatchGroupByAfterWrites() throws Exception {
+		long quito = create("Quito");
+		create("Quito");
+		long lima = create("Lima");
+		long bogota = create("Bogotá");
+		mockMvc.perform(post("/api/persons/bulk").contentType(MediaType.APPLICATION_JSON)
+						.content("[" + person("Lima") + "," + person("Cusco") + "]"))
+				.andExpect(status().isOk());
+
+		// Cambio de ciudad, dirección eliminada y persona eliminada
+		mockMvc.perform(put("/api/persons/{id}", quito).contentType(MediaType.APPLICATION_JSON)
+						.content(person("Lima")))
+				.andExpect(status().isOk());
+		mockMvc.perform(patch("/api/persons/{id}", lima).contentType("application/merge-patch+json")
+						.content("{\"address\": null}"))
+				.andExpect(status().isOk());
+		mockMvc.perform(delete("/api/persons/{id}", bogota)).andExpect(status().isNoContent());
+
+		JsonNode stats = stats();
+		assertThat(stats.get("total").asLong()).isEqualTo(personRepository.count()).isEqualTo(5);
+		assertThat(byCity(stats)).isEqualTo(groupBy()).containsExactlyEntriesOf(
+				new TreeMap<>(Map.of("Cusco", 1L, "Lima", 2L, "Quito", 1L)));
+		assertThat(stats.get("withoutCity").asLong()).isEqualTo(1);
+	}
+
+	@Test
+	void reconcileCorrectsChangesMadeOutsideTheApi() throws Exception {
+		create("Quito");
+		Person person = new Person();
+		person.setName("Directa");
+		person.setEmailAddress("directa@example.com");
+		Address address = new Address();
+		address.setStreet("Calle 2");
+		address.setCity("Quito");
+		person.setAddress(address);
+		personRepository.save(person);
+
+		assertThat(stats().get("total").asLong()).isEqualTo(1);
+
+		personStatsService.reconcile();
+
+		JsonNode stats = stats();
+		assertThat(stats.get("total").asLong()).isEqualTo(2);
+		assertThat(byCity(stats)).isEqualTo(groupBy());
+	}
+
+	private JsonNode stats() throws Exception {
+		String body = mockMvc.perform(get("/api/persons/stats"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body);
+	}
+
+	private static Map<String, Long> byCity(JsonNode stats) {
+		Map<String, Long> byCity = new TreeMap<>();
+		stats.get("byCity").fields().forEachRemaining(entry -> byCity.put(entry.getKey(), entry.getValue().asLong()));
+		return byCity;
+	}
+
+	private Map<String, Long> groupBy() {
+		Map<String, Long> byCity = new TreeMap<>();
+		for (CityCount count : personRepository.countByCity()) {
+			if (count.city() != null) {
+				byCity.put(count.city(), count.count());
+			}
+		}
+		return byCity;
+	}
+
+	private String person(String city) {
+		return PERSON_JSON.formatted(++sequence, city);
+	}
+
+	private long create(String city) throws Exception {
+		String body = mockMvc.perform(post("/api/persons")
+						.contentType(MediaType.APPLICATION_JSON).content(person(city)))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body).get("id").asLong();
+	}
+}
@@ -0,0 +1,81 @@
+package com.java;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import crud.CrudApplication;
+import crud.model.Address;
+import crud.model.Person;
+import crud.repository.PersonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica la negociación de contenido de las representaciones binarias: con Accept CBOR o Smile
+ * la API devuelve el mismo documento HAL que en JSON, en menos bytes.
+ */
+@SpringBootTest(classes = CrudApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PersonWireFormatTests {
+
+	private static final String PAGE = "/api/persons/paged?page=0&size=20";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PersonRepository personRepository;
+
+	@BeforeEach
+	void seed() {
+		personRepository.deleteAll();
+		for (int i = 0; i < 20; i++) {
+			Address address = new Address();
+			address.setStreet("Calle " + i);
+			address.setCity("Ciudad " + (i % 5));
+
+			Person person = new Person();
+			person.setName("Persona " + i);
+			person.setPhoneNumber("1234567890");
+			person.setEmailAddress("persona" + i + "@example.com");
+			person.setAddress(address);
+			personRepository.save(person);
+		}
+	}
+
+	@Test
+	void binaryFormatsCarryTheSameHalDocumentInFewerBytes() throws Exception {
+		byte[] json = fetch("application/hal+json");
+		byte[] cbor = fetch("application/cbor");
+		byte[] smile = fetch("application/x-jackson-smile");
+
+		JsonNode expected = new ObjectMapper(new JsonFactory()).readTree(json);
+		assertThat(expected.at("/_embedded/personList")).hasSize(20);
+		assertThat(new ObjectMapper(new CBORFactory()).readTree(cbor)).isEqualTo(expected);
+		assertThat(new ObjectMapper(new SmileFactory()).readTree(smile)).isEqualTo(expected);
+		assertThat(cbor.length).isLessThan(json.length);
+		assertThat(smile.length).isLessThan(cbor.length);
+	}
+
+	private byte[] fetch(String mediaType) throws Exception {
+		MvcResult result = mockMvc.perform(get(PAGE).accept(mediaType))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(mediaType))
+				.andReturn();
+		return result.getResponse().getContentAsByteArray();
+	}
+}
@@ -0,0 +1,183 @@
+package com.java;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import crud.CrudApplication;
+import crud.dto.BulkItemResult;
+import crud.dto.BulkResult;
+import crud.dto.WriteStatus;
+import crud.exception.WriteQueueFullException;
+import crud.model.Address;
+import crud.model.Person;
+import crud.repository.PersonRepository;
+import crud.service.PersonBulkService;
+import crud.service.PersonWriteQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica la escritura diferida con {@code Prefer: respond-async}: respuesta 202, consulta del estado,
+ * combinación de actualizaciones de un mismo ID y rechazo con la cola llena.
+ */
+@SpringBootTest(classes = CrudApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:crud-write-behind;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+		"crud.write-behind.enabled=true",
+		// Margen para que las actualizaciones consecutivas caigan en el mismo lote
+		"crud.write-behind.linger=500ms",
+		"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+		"spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+class PersonWriteBehindTests {
+
+	private static final String PERSON_JSON = """
+			{"name": "%s", "emailAddress": "%s", "phoneNumber": "1234567890",
+			 "address": {"street": "Calle 1", "city": "Ciudad 1"}}""";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PersonRepository personRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@BeforeEach
+	void clean() {
+		personRepository.deleteAll();
+	}
+
+	@Test
+	void asyncCreateIsAcceptedAndPersisted() throws Exception {
+		MvcResult result = mockMvc.perform(post("/api/persons").header("Prefer", "respond-async")
+						.contentType(MediaType.APPLICATION_JSON).content(PERSON_JSON.formatted("Asíncrona", "asincrona@example.com")))
+				.andExpect(status().isAccepted())
+				.andExpect(header().string("Preference-Applied", "respond-async"))
+				.andExpect(jsonPath("$.state").value("PENDING"))
+				.andReturn();
+
+		JsonNode done = awaitDone(result.getResponse().getHeader("Location"));
+		assertThat(done.get("status").asInt()).isEqualTo(201);
+		assertThat(personRepository.findById(done.get("id").asLong()))
+				.hasValueSatisfying(person -> assertThat(person.getName()).isEqualTo("Asíncrona"));
+	}
+
+	@Test
+	void updatesToTheSameIdAreCoalesced() throws Exception {
+		Person person = new Person();
+		person.setName("Original");
+		person.setEmailAddress("persona@example.com");
+		person.setPhoneNumber("1234567890");
+		Address address = new Address();
+		address.setStreet("Calle 1");
+		address.setCity("Ciudad 1");
+		person.setAddress(address);
+		Long id = personRepository.save(person).getId();
+
+		String[] locations = new String[3];
+		for (int i = 0; i < locations.length; i++) {
+			locations[i] = mockMvc.perform(put("/api/persons/" + id).header("Prefer", "respond-async")
+							.contentType(MediaType.APPLICATION_JSON).content(PERSON_JSON.formatted("Cambio " + i, "persona@example.com")))
+					.andExpect(status().isAccepted())
+					.andReturn().getResponse().getHeader("Location");
+		}
+		for (String location : locations) {
+			assertThat(awaitDone(location).get("status").asInt()).isEqualTo(200);
+		}
+
+		Person updated = personRepository.findById(id).orElseThrow();
+		assertThat(updated.getName()).isEqualTo("Cambio 2");
+		assertThat(updated.getVersion()).isEqualTo(1); // una sola actualización para las tres escrituras
+	}
+
+	@Test
+	void syncWriteWithoutPreference() throws Exception {
+		mockMvc.perform(post("/api/persons")
+						.contentType(MediaType.APPLICATION_JSON).content(PERSON_JSON.formatted("Síncrona", "sincrona@example.com")))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist("Preference-Applied"));
+	}
+
+	@Test
+	void fullQueueRejectsWrites() throws Exception {
+		CountDownLatch persisting = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		PersonBulkService bulkService = mock(PersonBulkService.class);
+		when(bulkService.createPersons(anyList())).thenAnswer(invocation -> {
+			persisting.countDown();
+			release.await();
+			return BulkResult.of(List.of(BulkItemResult.created(0, 1L)));
+		});
+		PersonWriteQueue queue = new PersonWriteQueue(bulkService, new SimpleMeterRegistry(), 1, 10,
+				Duration.ZERO, 7, Duration.ofMinutes(1), Duration.ofSeconds(5));
+		queue.start();
+		try {
+			WriteStatus first = queue.enqueueCreate(new Person());
+			assertThat(persisting.await(5, TimeUnit.SECONDS)).isTrue(); // el hilo tiene la primera escritura
+			queue.enqueueCreate(new Person()); // ocupa la única posición de la cola
+
+			assertThatThrownBy(() -> queue.enqueueCreate(new Person()))
+					.isInstanceOfSatisfying(WriteQueueFullException.class,
+							e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(7));
+			assertThat(queue.getStatus(first.ticket()).state()).isEqualTo(WriteStatus.State.PENDING);
+		} finally {
+			release.countDown();
+			queue.stop();
+		}
+	}
+
+	@Test
+	void stopsAfterTheWebServer() {
+		PersonWriteQueue queue = new PersonWriteQueue(mock(PersonBulkService.class), new SimpleMeterRegistry(), 1, 10,
+				Duration.ZERO, 1, Duration.ofMinutes(1), Duration.ofSeconds(5));
+
+		// Las fases menores se detienen más tarde; el servidor web se detiene en SMART_LIFECYCLE_PHASE - 1024
+		assertThat(queue.getPhase()).isLessThan(WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024);
+	}
+
+	private JsonNode awaitDone(String location) throws Exception {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (true) {
+			String body = mockMvc.perform(get(location))
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString();
+			JsonNode status = objectMapper.readTree(body);
+			if (!"PENDING".equals(status.get("state").asText())) {
+				assertThat(status.get("state").asText()).isEqualTo("DONE");
+				return status;
+			}
+			assertThat(System.nanoTime()).as("la escritura no terminó a tiempo").isLessThan(deadline);
+			Thread.sleep(50);
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package com.java;
+
+import crud.CrudApplication;
+import crud.config.CacheConfig;
+import crud.exception.PersonNotFoundException;
+import crud.model.Person;
+import crud.service.PersonService;
+import crud.warmup.StartupWarmup;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica el calentamiento previo a readiness: las personas indicadas quedan en la caché y las rutas
+ * configuradas se solicitan a la propia instancia antes de que la aplicación acepte tráfico, y un ID
+ * inexistente no interrumpe el resto del calentamiento.
+ */
+@SpringBootTest(classes = CrudApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=jdbc:h2:mem:crud-warmup;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+		"spring.sql.init.data-locations=classpath:warmup-data.sql",
+		// La caché de segundo nivel (JCache) se comparte entre contextos; los IDs fijos la contaminarían
+		"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+		"spring.jpa.properties.hibernate.cache.use_query_cache=false",
+		"crud.warmup.enabled=true",
+		"crud.warmup.person-ids=1,2,999",
+		"crud.warmup.paths=/api/persons/paged?page=0&size=20,/api/persons/cursor?size=20",
+		"crud.warmup.iterations=3"
+})
+@ActiveProfiles("test")
+class StartupWarmupTests {
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private ApplicationAvailability applicationAvailability;
+
+	@Test
+	void warmsUpCacheAndRequestPathsBeforeReadiness() {
+		assertThat(applicationAvailability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+
+		Cache persons = cacheManager.getCache(CacheConfig.PERSONS_CACHE);
+		assertThat(persons.get(1L)).isNotNull();
+		assertThat(persons.get(2L)).isNotNull();
+		// Los IDs inexistentes no fallan el calentamiento ni se guardan en la caché
+		assertThat(persons.get(999L)).isNull();
+
+		assertThat(meterRegistry.get("http.server.requests").tag("uri", "/api/persons/paged").timer().count())
+				.isEqualTo(3);
+		assertThat(meterRegistry.get("http.server.requests").tag("uri", "/api/persons/cursor").timer().count())
+				.isEqualTo(3);
+	}
+
+	@Test
+	void missingPersonDoesNotAbortTheWarmup() {
+		PersonService personService = mock(PersonService.class);
+		when(personService.getPersonById(1L)).thenThrow(PersonNotFoundException.INSTANCE);
+		when(personService.getPersonById(2L)).thenReturn(new Person());
+
+		new StartupWarmup(List.of(), personService, mock(ApplicationContext.class), List.of(1L, 2L, 3L), List.of(), 1)
+				.run(null);
+
+		verify(personService).getPersonById(2L);
+		verify(personService).getPersonById(3L);
+	}
+}
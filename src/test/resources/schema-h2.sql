@@ -0,0 +1,48 @@
+-- Esquema de H2 para las pruebas, equivalente a schema-postgresql.sql.
+-- H2 no tiene índices de trigramas ni operator classes: la búsqueda por subcadena recorre la tabla.
+
+create sequence if not exists address_seq start with 1 increment by 50;
+create sequence if not exists person_seq start with 1 increment by 50;
+
+create table if not exists address (
+    id     bigint       not null primary key,
+    street varchar(100) not null,
+    city   varchar(50)  not null
+);
+
+create table if not exists person (
+    id            bigint       not null primary key,
+    name          varchar(50)  not null,
+    phone_number  varchar(255),
+    email_address varchar(255) not null,
+    address_id    bigint unique references address (id)
+);
+
+-- Búsqueda de personas (/api/persons/search)
+alter table person add column if not exists name_search varchar(50) generated always as (lower(name));
+alter table person add column if not exists email_search varchar(255) generated always as (lower(email_address));
+alter table address add column if not exists city_search varchar(50) generated always as (lower(city));
+
+create index if not exists idx_person_name_search on person (name_search);
+create index if not exists idx_person_phone_number on person (phone_number);
+create index if not exists idx_address_city_search on address (city_search);
+
+-- Control de concurrencia optimista (@Version) y ETags de /api/persons/{id}
+alter table person add column if not exists version bigint not null default 0;
+alter table address add column if not exists version bigint not null default 0;
+
+-- Registro de cambios de personas (/api/persons/changes): una fila por alta, modificación o eliminación,
+-- numerada con una secuencia creciente que los clientes usan como token de sincronización (since).
+-- Un nextval por cambio (allocationSize = 1): los números siguen el orden de registro también entre
+-- instancias, condición para el margen crud.changes.lag de /api/persons/changes
+create sequence if not exists person_change_seq start with 1 increment by 1;
+create table if not exists person_change (
+    seq         bigint      not null primary key,
+    person_id   bigint      not null,
+    change_type varchar(10) not null,
+    changed_at  timestamp with time zone not null
+);
+
+-- Correo electrónico único sin distinguir mayúsculas (409 al crear o modificar una persona con un correo
+-- existente). También resuelve el filtro email de /api/persons/search.
+create unique index if not exists uq_person_email_search on person (email_search);
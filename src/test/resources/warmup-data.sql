@@ -0,0 +1,5 @@
+-- Personas precargadas para StartupWarmupTests (crud.warmup.person-ids=1,2)
+insert into address (id, version, street, city) values (1, 0, 'Calle 1', 'Ciudad 1'), (2, 0, 'Calle 2', 'Ciudad 2');
+insert into person (id, version, name, phone_number, email_address, address_id)
+values (1, 0, 'Persona 1', '1234567890', 'persona1@example.com', 1),
+       (2, 0, 'Persona 2', '1234567890', 'persona2@example.com', 2);